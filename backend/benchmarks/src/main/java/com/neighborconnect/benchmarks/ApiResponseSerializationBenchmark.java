@@ -0,0 +1,53 @@
+package com.neighborconnect.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neighborconnect.shared.dto.ApiResponse;
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.userservice.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Response bodies as the controllers return them, through a Boot-style ObjectMapper
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+    
+    @Param({"20"})
+    private int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private ApiResponse<UserDto> userResponse;
+    private ApiResponse<Page<UserDto>> pageResponse;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        userResponse = ApiResponse.success(UserMapper.toDto(BenchmarkFixtures.user(1)));
+        List<UserDto> users = IntStream.range(0, pageSize)
+                .mapToObj(i -> UserMapper.toDto(BenchmarkFixtures.user(i)))
+                .toList();
+        pageResponse = ApiResponse.success(new PageImpl<>(users, PageRequest.of(0, pageSize), 1000));
+    }
+    
+    @Benchmark
+    public byte[] serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userResponse);
+    }
+    
+    @Benchmark
+    public byte[] serializeUserPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.util.HmacJwtKeySource;
+import com.neighborconnect.shared.util.JwtKeySource;
+import com.neighborconnect.shared.util.JwtUtil;
+import com.neighborconnect.userservice.model.User;
+import com.neighborconnect.userservice.security.RsaJwtKeySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Builds the objects Spring would normally wire, with the application.yml defaults
+final class BenchmarkFixtures {
+    
+    static final String SECRET = "myVerySecretKeyForNeighborConnectThatShouldBe256BitsLong";
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static JwtKeySource keySource(String type) {
+        return switch (type) {
+            case "hmac" -> new HmacJwtKeySource(SECRET);
+            case "rsa" -> new RsaJwtKeySource(86400000L, 1209600000L, generatedRsaKey(), false, 604800000L, null);
+            default -> throw new IllegalArgumentException("Unknown key source: " + type);
+        };
+    }
+    
+    // A configured key, so the benchmark needs no database-backed key store
+    private static String generatedRsaKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    static JwtUtil jwtUtil(JwtKeySource keySource, long verificationCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(keySource);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 1209600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaxSize", verificationCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+    
+    static User user(int index) {
+        User user = new User("user" + index + "@example.com", "user" + index,
+                "$2a$10$abcdefghijklmnopqrstuuE6mlkAeX8aNnrLhC4xTWp3JpF4Ylz4y", "First" + index, "Last" + index);
+        user.setId(UUID.nameUUIDFromBytes(("user" + index).getBytes()));
+        user.setNeighborhood("Downtown");
+        user.setCity("San Francisco");
+        user.setState("CA");
+        user.setCountry("USA");
+        user.setPostalCode("94102");
+        user.setPhone("+1-555-0100");
+        user.setVerified(true);
+        user.setReputation(index * 10);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setLastLogin(LocalDateTime.of(2024, 6, 1, 8, 30));
+        return user;
+    }
+}
\ No newline at end of file
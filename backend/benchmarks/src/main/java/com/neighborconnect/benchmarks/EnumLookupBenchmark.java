@@ -0,0 +1,46 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.enums.ConnectorType;
+import com.neighborconnect.shared.enums.ModuleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// First constant by name is the best case of the linear scan, last by display name the worst
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumLookupBenchmark {
+    
+    @Param({"first-name", "last-display-name"})
+    private String lookup;
+    
+    private String connectorType;
+    private String moduleType;
+    
+    @Setup
+    public void setUp() {
+        ConnectorType[] connectorTypes = ConnectorType.values();
+        ModuleType[] moduleTypes = ModuleType.values();
+        if ("first-name".equals(lookup)) {
+            connectorType = connectorTypes[0].name();
+            moduleType = moduleTypes[0].name();
+        } else {
+            connectorType = connectorTypes[connectorTypes.length - 1].getDisplayName().toLowerCase();
+            moduleType = moduleTypes[moduleTypes.length - 1].getDisplayName().toLowerCase();
+        }
+    }
+    
+    @Benchmark
+    public ConnectorType connectorTypeFromString() {
+        return ConnectorType.fromString(connectorType);
+    }
+    
+    @Benchmark
+    public ModuleType moduleTypeFromString() {
+        return ModuleType.fromString(moduleType);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.neighborconnect.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neighborconnect.shared.grpc.BearerTokenCredentials;
+import com.neighborconnect.shared.grpc.user.v1.GetUserRequest;
+import com.neighborconnect.shared.grpc.user.v1.UserServiceGrpc;
+import com.neighborconnect.shared.grpc.user.v1.ValidateTokenRequest;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.StatusRuntimeException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running user-service, for comparing its platform- and
+ * virtual-thread modes. Start the service once per mode with the same DB_POOL_SIZE, then e.g.
+ * {@code java -cp target/benchmarks.jar -Dload.label=virtual -Dload.concurrency=400
+ * com.neighborconnect.benchmarks.HttpLoadTest}. Each run appends one JSON line with throughput
+ * and latency percentiles to load-result.jsonl.
+ *
+ * <p>{@code -Dload.transport=grpc} sends GetUser calls for the logged-in user over one shared
+ * gRPC channel instead; compare with {@code -Dload.paths=/api/v1/users/<id>}, which serves the
+ * same read over HTTP/1.1 JSON. The id is printed at start-up.
+ */
+public class HttpLoadTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    // One request; false means the service answered with an error
+    private interface Call {
+        boolean execute() throws IOException, InterruptedException;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.url", "http://localhost:8081");
+        String label = System.getProperty("load.label", "unlabelled");
+        String transport = System.getProperty("load.transport", "http");
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration", 30));
+        // Profile reads are served from the second-level cache, city listings go to the database
+        List<String> paths = List.of(System.getProperty("load.paths",
+                "/api/v1/users/profile,/api/v1/users/city/Seattle").split(","));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(client, baseUrl,
+                System.getProperty("load.user", "john.doe@example.com"),
+                System.getProperty("load.password", "password123"));
+        ManagedChannel channel = null;
+        List<Call> calls;
+        if (transport.equals("grpc")) {
+            String target = System.getProperty("load.grpc.target", "localhost:9091");
+            channel = Grpc.newChannelBuilder(target, InsecureChannelCredentials.create()).build();
+            calls = grpcCalls(channel, token);
+        } else {
+            calls = paths.stream()
+                    .map(path -> httpCall(client, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                            .header("Authorization", "Bearer " + token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build()))
+                    .toList();
+        }
+        
+        System.out.printf("%s: %d clients, %ds warm-up, %ds measured against %s over %s%n",
+                label, concurrency, warmup.toSeconds(), duration.toSeconds(), baseUrl, transport);
+        run(calls, concurrency, Instant.now().plus(warmup));
+        Result result = run(calls, concurrency, Instant.now().plus(duration));
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("transport", transport);
+        summary.put("concurrency", concurrency);
+        summary.put("requests", result.latenciesNanos.length);
+        summary.put("errors", result.errors);
+        summary.put("throughputPerSecond", Math.round(result.latenciesNanos.length / (double) duration.toSeconds()));
+        summary.put("p50Ms", percentileMillis(result.latenciesNanos, 0.50));
+        summary.put("p99Ms", percentileMillis(result.latenciesNanos, 0.99));
+        summary.put("maxMs", percentileMillis(result.latenciesNanos, 1.0));
+        String line = MAPPER.writeValueAsString(summary);
+        System.out.println(line);
+        Files.writeString(Path.of(System.getProperty("load.result", "load-result.jsonl")), line + "\n",
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private static String login(HttpClient client, String baseUrl, String user, String password)
+            throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of("emailOrUsername", user, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode data = MAPPER.readTree(response.body()).path("data");
+        JsonNode token = data.hasNonNull("accessToken") ? data.get("accessToken") : data.path("token");
+        if (response.statusCode() != 200 || token.isMissingNode()) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return token.asText();
+    }
+    
+    private static Call httpCall(HttpClient client, HttpRequest request) {
+        return () -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+    
+    private static List<Call> grpcCalls(ManagedChannel channel, String token) {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+        String userId = stub.validateToken(ValidateTokenRequest.newBuilder().setToken(token).build()).getUserId();
+        
+        GetUserRequest request = GetUserRequest.newBuilder().setId(userId).build();
+        UserServiceGrpc.UserServiceBlockingStub authenticated =
+                stub.withCallCredentials(new BearerTokenCredentials(() -> token));
+        return List.of(() -> {
+            try {
+                // Deadlines are absolute, so each call gets a fresh one
+                authenticated.withDeadlineAfter(30, TimeUnit.SECONDS).getUser(request);
+                return true;
+            } catch (StatusRuntimeException e) {
+                return false;
+            }
+        });
+    }
+    
+    // Each client sends its next request as soon as the previous one completes
+    private static Result run(List<Call> calls, int concurrency, Instant until)
+            throws InterruptedException {
+        AtomicLong errors = new AtomicLong();
+        long[][] perClient = new long[concurrency][];
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            int clientIndex = i;
+            Thread thread = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int n = clientIndex; Instant.now().isBefore(until); n++) {
+                    long start = System.nanoTime();
+                    try {
+                        if (!calls.get(n % calls.size()).execute()) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                        continue;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                perClient[clientIndex] = Arrays.copyOf(latencies, count);
+            }, "load-client-" + i);
+            clients.add(thread);
+            thread.start();
+        }
+        
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        long[] all = Arrays.stream(perClient)
+                .flatMapToLong(Arrays::stream)
+                .sorted()
+                .toArray();
+        return new Result(all, errors.get());
+    }
+    
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return Math.round(sortedNanos[Math.max(0, index)] / 10_000.0) / 100.0;
+    }
+    
+    private record Result(long[] latenciesNanos, long errors) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.util.JwtUtil;
+import com.neighborconnect.userservice.repository.UserPrincipalView;
+import com.neighborconnect.userservice.repository.UserRepository;
+import com.neighborconnect.userservice.security.AccessTokenValidator;
+import com.neighborconnect.userservice.security.InMemoryTokenRevocationStore;
+import com.neighborconnect.userservice.security.JwtAuthenticationFilter;
+import com.neighborconnect.userservice.security.LocalSecurityEventBus;
+import com.neighborconnect.userservice.security.PrincipalCache;
+import com.neighborconnect.userservice.security.TokenRevocationService;
+import com.neighborconnect.userservice.security.TokenVersionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request through JwtAuthenticationFilter with all collaborators real except the
+ * repository. Versioned access tokens take the registry fast path, legacy tokens the
+ * principal cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+    
+    @Param({"hmac", "rsa"})
+    private String keySource;
+    
+    private JwtAuthenticationFilter filter;
+    private String accessToken;
+    private String legacyToken;
+    
+    @Setup
+    public void setUp() {
+        UUID userId = UUID.randomUUID();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findRaisedTokenVersions()).thenReturn(List.of());
+        Mockito.when(userRepository.findPrincipalByUsername("johndoe")).thenReturn(Optional.of(new UserPrincipalView() {
+            @Override
+            public UUID getId() {
+                return userId;
+            }
+            
+            @Override
+            public String getUsername() {
+                return "johndoe";
+            }
+            
+            @Override
+            public Boolean getIsActive() {
+                return true;
+            }
+        }));
+        
+        LocalSecurityEventBus eventBus = new LocalSecurityEventBus();
+        TokenRevocationService revocationService =
+                new TokenRevocationService(new InMemoryTokenRevocationStore(), eventBus, 100000, 0.01);
+        ReflectionTestUtils.invokeMethod(revocationService, "init");
+        TokenVersionRegistry versionRegistry = new TokenVersionRegistry(userRepository, eventBus);
+        ReflectionTestUtils.invokeMethod(versionRegistry, "init");
+        PrincipalCache principalCache =
+                new PrincipalCache(userRepository, new SimpleMeterRegistry(), 10000, Duration.ofMinutes(5));
+        
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(BenchmarkFixtures.keySource(keySource), 10000);
+        filter = new JwtAuthenticationFilter(
+                new AccessTokenValidator(jwtUtil, principalCache, revocationService, versionRegistry));
+        accessToken = jwtUtil.generateAccessToken("johndoe", userId, "USER", 0);
+        legacyToken = jwtUtil.generateToken("johndoe", userId, "USER");
+    }
+    
+    @Benchmark
+    public Authentication accessToken() throws Exception {
+        return authenticate(accessToken);
+    }
+    
+    @Benchmark
+    public Authentication legacyToken() throws Exception {
+        return authenticate(legacyToken);
+    }
+    
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
\ No newline at end of file
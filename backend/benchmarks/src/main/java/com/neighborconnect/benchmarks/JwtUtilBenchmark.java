@@ -0,0 +1,52 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. A verification cache size of 0 measures the full
+ * signature check, the default size the repeat-token path the filter usually takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+    
+    @Param({"hmac", "rsa"})
+    private String keySource;
+    
+    @Param({"0", "10000"})
+    private long verificationCacheSize;
+    
+    private JwtUtil jwtUtil;
+    private UUID userId;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil(BenchmarkFixtures.keySource(keySource), verificationCacheSize);
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateToken("johndoe", userId, "USER");
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("johndoe", userId, "USER");
+    }
+    
+    @Benchmark
+    public Boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token);
+    }
+    
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+}
\ No newline at end of file
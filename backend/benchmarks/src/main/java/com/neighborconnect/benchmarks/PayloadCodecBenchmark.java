@@ -0,0 +1,53 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.codec.PayloadCodec;
+import com.neighborconnect.shared.dto.ApiResponse;
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.userservice.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode and decode cost of an author-hydration response, a list of users wrapped in
+ * ApiResponse, per wire codec. The encoded size of each combination is printed once
+ * per trial, since JMH itself only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadCodecBenchmark {
+    
+    @Param({"JSON", "CBOR", "SMILE"})
+    private PayloadCodec codec;
+    
+    @Param({"1", "50"})
+    private int users;
+    
+    private ApiResponse<List<UserDto>> response;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() {
+        response = ApiResponse.success(IntStream.range(0, users)
+                .mapToObj(i -> UserMapper.toDto(BenchmarkFixtures.user(i)))
+                .toList());
+        encoded = codec.encode(response);
+        System.out.printf("%n%s, %d users: %d bytes%n", codec, users, encoded.length);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(response);
+    }
+    
+    @Benchmark
+    public ApiResponse<List<UserDto>> decode() {
+        return codec.decodeListResponse(encoded, UserDto.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.userservice.mapper.UserMapper;
+import com.neighborconnect.userservice.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user(1);
+    }
+    
+    @Benchmark
+    public UserDto toDto() {
+        return UserMapper.toDto(user);
+    }
+}
\ No newline at end of file
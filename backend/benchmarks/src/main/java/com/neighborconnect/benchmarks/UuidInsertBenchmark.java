@@ -0,0 +1,107 @@
+package com.neighborconnect.benchmarks;
+
+import com.neighborconnect.shared.persistence.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a UUID-keyed table with random (v4) versus time-ordered
+ * (v7) keys. The table keeps growing across iterations, so later iterations show
+ * the cost of inserting into a primary-key index that no longer fits in cache.
+ * Postgres runs only when asked for, e.g.
+ * {@code -p database=h2,postgres -jvmArgsAppend -Dbenchmarks.postgres.url=jdbc:postgresql://localhost:5432/bench
+ * -Dbenchmarks.postgres.user=... -Dbenchmarks.postgres.password=...}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+    
+    private static final int BATCH_SIZE = 100;
+    private static final String TABLE = "uuid_insert_bench";
+    
+    @Param({"random", "time-ordered"})
+    private String keys;
+    
+    @Param({"h2"})
+    private String database;
+    
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> keyGenerator;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = switch (database) {
+            case "h2" -> DriverManager.getConnection("jdbc:h2:mem:" + TABLE + ";DB_CLOSE_DELAY=-1", "sa", "");
+            case "postgres" -> DriverManager.getConnection(
+                    required("benchmarks.postgres.url"),
+                    System.getProperty("benchmarks.postgres.user", "postgres"),
+                    System.getProperty("benchmarks.postgres.password", ""));
+            default -> throw new IllegalArgumentException("Unknown database: " + database);
+        };
+        keyGenerator = "random".equals(keys) ? UUID::randomUUID : UuidV7::generate;
+        
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            // Roughly the width of a users row, so index and heap pages fill at a realistic rate
+            statement.execute("CREATE TABLE " + TABLE + " (" +
+                    "id UUID PRIMARY KEY, " +
+                    "username VARCHAR(50) NOT NULL, " +
+                    "email VARCHAR(255) NOT NULL, " +
+                    "created_at TIMESTAMP NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+                "INSERT INTO " + TABLE + " (id, username, email, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+    
+    // One operation is a committed batch of BATCH_SIZE rows
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            UUID id = keyGenerator.get();
+            insert.setObject(1, id);
+            insert.setString(2, "user" + id.getLeastSignificantBits());
+            insert.setString(3, id + "@example.com");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+    
+    @Benchmark
+    public UUID generateKey() {
+        return keyGenerator.get();
+    }
+    
+    private static String required(String property) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            throw new IllegalStateException("Set -D" + property + " to benchmark against Postgres");
+        }
+        return value;
+    }
+}
\ No newline at end of file
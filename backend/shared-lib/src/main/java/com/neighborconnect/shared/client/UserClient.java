@@ -0,0 +1,225 @@
+package com.neighborconnect.shared.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neighborconnect.shared.codec.PayloadCodec;
+import com.neighborconnect.shared.dto.ApiResponse;
+import com.neighborconnect.shared.dto.UserBatchRequestDto;
+import com.neighborconnect.shared.dto.UserDto;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * User lookups for services that hydrate user references (post authors, event attendees).
+ * Single-ID calls made within the same short window are coalesced into one
+ * {@code POST /api/v1/users/batch}, and results sit in a near cache for a while, so rendering
+ * fifty posts costs one round trip instead of fifty. Concurrent lookups of the same ID share
+ * one in-flight request; unknown IDs complete with {@code null} and are not cached.
+ *
+ * <p>Not a component: user-service has no service credentials yet, so each consuming service
+ * declares the client as a bean and supplies the bearer token it calls user-service with.
+ */
+@Slf4j
+public class UserClient implements AutoCloseable {
+    
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
+    private static final String BATCH_PATH = "/api/v1/users/batch";
+    
+    public record Settings(Duration batchWindow, int maxBatchSize, long nearCacheSize,
+                           Duration nearCacheTtl, PayloadCodec codec) {
+        
+        public Settings {
+            if (maxBatchSize < 1 || maxBatchSize > UserBatchRequestDto.MAX_IDS) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and " + UserBatchRequestDto.MAX_IDS);
+            }
+        }
+        
+        public static Settings defaults() {
+            return new Settings(Duration.ofMillis(2), 100, 10_000, Duration.ofSeconds(30), PayloadCodec.SMILE);
+        }
+    }
+    
+    private final URI batchUri;
+    private final Supplier<String> bearerToken;
+    private final Settings settings;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService dispatcher;
+    private final AsyncLoadingCache<UUID, UserDto> nearCache;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock: IDs waiting for the current window to close
+    private Map<UUID, CompletableFuture<UserDto>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> windowClose;
+    
+    public UserClient(URI baseUri, Supplier<String> bearerToken, Settings settings) {
+        this.batchUri = baseUri.resolve(BATCH_PATH);
+        this.bearerToken = bearerToken;
+        this.settings = settings;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-client-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(settings.nearCacheSize())
+                .expireAfterWrite(settings.nearCacheTtl())
+                .buildAsync(new BatchingLoader());
+    }
+    
+    public CompletableFuture<UserDto> getUser(UUID id) {
+        return nearCache.get(id);
+    }
+    
+    // Found users by ID; cached ones are served locally and the rest join the current window
+    public CompletableFuture<Map<UUID, UserDto>> getUsers(Collection<UUID> ids) {
+        return nearCache.getAll(ids);
+    }
+    
+    // Drops a cached user, e.g. after the caller learns the profile changed
+    public void invalidate(UUID id) {
+        nearCache.synchronous().invalidate(id);
+    }
+    
+    private class BatchingLoader implements AsyncCacheLoader<UUID, UserDto> {
+        
+        @Override
+        public CompletableFuture<UserDto> asyncLoad(UUID id, Executor executor) {
+            return enqueue(List.of(id)).get(id);
+        }
+        
+        @Override
+        public CompletableFuture<Map<UUID, UserDto>> asyncLoadAll(Set<? extends UUID> ids, Executor executor) {
+            Map<UUID, CompletableFuture<UserDto>> futures = enqueue(ids);
+            return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .thenApply(ignored -> {
+                        Map<UUID, UserDto> users = new HashMap<>();
+                        futures.forEach((id, future) -> {
+                            UserDto user = future.join();
+                            if (user != null) {
+                                users.put(id, user);
+                            }
+                        });
+                        return users;
+                    });
+        }
+    }
+    
+    private Map<UUID, CompletableFuture<UserDto>> enqueue(Collection<? extends UUID> ids) {
+        Map<UUID, CompletableFuture<UserDto>> futures = new HashMap<>();
+        List<Map<UUID, CompletableFuture<UserDto>>> full = new ArrayList<>();
+        lock.lock();
+        try {
+            for (UUID id : ids) {
+                futures.put(id, pending.computeIfAbsent(id, key -> new CompletableFuture<>()));
+                if (pending.size() >= settings.maxBatchSize()) {
+                    full.add(takePending());
+                }
+            }
+            if (!pending.isEmpty() && windowClose == null) {
+                windowClose = dispatcher.schedule(this::closeWindow,
+                        settings.batchWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Full batches go out right away instead of waiting for the window
+        full.forEach(this::send);
+        return futures;
+    }
+    
+    private void closeWindow() {
+        Map<UUID, CompletableFuture<UserDto>> batch;
+        lock.lock();
+        try {
+            batch = takePending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+    
+    // Caller holds lock
+    private Map<UUID, CompletableFuture<UserDto>> takePending() {
+        Map<UUID, CompletableFuture<UserDto>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowClose != null) {
+            windowClose.cancel(false);
+            windowClose = null;
+        }
+        return batch;
+    }
+    
+    private void send(Map<UUID, CompletableFuture<UserDto>> batch) {
+        PayloadCodec codec = settings.codec();
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(batchUri)
+                    .timeout(HTTP_TIMEOUT)
+                    .header("Content-Type", codec.mediaType())
+                    .header("Accept", codec.mediaType())
+                    .header("Authorization", "Bearer " + bearerToken.get())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            codec.encode(new UserBatchRequestDto(List.copyOf(batch.keySet())))))
+                    .build();
+        } catch (RuntimeException e) {
+            fail(batch, e);
+            return;
+        }
+        
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("User batch lookup failed with status " + response.statusCode());
+                    }
+                    ApiResponse<List<UserDto>> body = codec.decodeListResponse(response.body(), UserDto.class);
+                    Map<UUID, UserDto> users = new HashMap<>();
+                    if (body.getData() != null) {
+                        body.getData().forEach(user -> users.put(user.getId(), user));
+                    }
+                    return users;
+                })
+                .whenComplete((users, error) -> {
+                    if (error != null) {
+                        fail(batch, error);
+                    } else {
+                        batch.forEach((id, future) -> future.complete(users.get(id)));
+                    }
+                });
+    }
+    
+    private void fail(Map<UUID, CompletableFuture<UserDto>> batch, Throwable error) {
+        log.warn("User batch lookup of {} IDs from {} failed: {}", batch.size(), batchUri, error.getMessage());
+        batch.values().forEach(future -> future.completeExceptionally(error));
+    }
+    
+    @Override
+    public void close() {
+        closeWindow();
+        dispatcher.shutdownNow();
+    }
+}
\ No newline at end of file
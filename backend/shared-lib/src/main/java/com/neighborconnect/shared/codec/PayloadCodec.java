@@ -0,0 +1,95 @@
+package com.neighborconnect.shared.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.neighborconnect.shared.dto.ApiResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wire encodings for service payloads. Browsers keep getting JSON; internal callers send
+ * {@code Accept: application/cbor} or {@code application/x-jackson-smile} and decode with the
+ * same codec. The binary codecs write UUIDs as 16 raw bytes and timestamps as number arrays
+ * instead of ISO strings; Smile also back-references repeated field names.
+ */
+public enum PayloadCodec {
+    
+    JSON("application/json", new JsonFactory()),
+    CBOR("application/cbor", new CBORFactory()),
+    SMILE("application/x-jackson-smile", new SmileFactory());
+    
+    private final String mediaType;
+    private final ObjectMapper objectMapper;
+    
+    PayloadCodec(String mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        // Same leniency as the services' Boot-configured mapper, so DTOs can gain fields
+        this.objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, factory.getClass() != JsonFactory.class);
+    }
+    
+    public String mediaType() {
+        return mediaType;
+    }
+    
+    // Shared and fully configured; reconfiguring it would change the wire format for every caller
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+    
+    public byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + name() + " payload", e);
+        }
+    }
+    
+    public <T> T decode(byte[] payload, Class<T> type) {
+        return decode(payload, objectMapper.constructType(type));
+    }
+    
+    public <T> T decode(byte[] payload, JavaType type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + name() + " payload", e);
+        }
+    }
+    
+    public <T> ApiResponse<T> decodeResponse(byte[] payload, Class<T> dataType) {
+        return decode(payload, objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType));
+    }
+    
+    public <T> ApiResponse<List<T>> decodeListResponse(byte[] payload, Class<T> elementType) {
+        JavaType list = objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+        return decode(payload, objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, list));
+    }
+    
+    /**
+     * Codec for a Content-Type header value; parameters such as charset are ignored and
+     * anything unrecognised is treated as JSON.
+     */
+    public static PayloadCodec forContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].strip().toLowerCase(Locale.ROOT);
+            for (PayloadCodec codec : values()) {
+                if (codec.mediaType.equals(mediaType)) {
+                    return codec;
+                }
+            }
+        }
+        return JSON;
+    }
+}
\ No newline at end of file
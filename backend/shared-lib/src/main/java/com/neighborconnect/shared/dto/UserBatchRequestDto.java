@@ -0,0 +1,23 @@
+package com.neighborconnect.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequestDto {
+    
+    public static final int MAX_IDS = 500;
+    
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " user IDs per request")
+    private List<@NotNull UUID> ids;
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.neighborconnect.shared.grpc;
+
+import io.grpc.CallCredentials;
+import io.grpc.Metadata;
+import io.grpc.Status;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Attaches {@code authorization: Bearer <token>} to every call, e.g.
+ * {@code UserServiceGrpc.newStub(channel).withCallCredentials(new BearerTokenCredentials(tokens))}.
+ * The supplier is asked on each call, so it can hand out refreshed tokens.
+ */
+public class BearerTokenCredentials extends CallCredentials {
+    
+    public static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    public static final String BEARER_PREFIX = "Bearer ";
+    
+    private final Supplier<String> token;
+    
+    public BearerTokenCredentials(Supplier<String> token) {
+        this.token = token;
+    }
+    
+    @Override
+    public void applyRequestMetadata(RequestInfo requestInfo, Executor appExecutor, MetadataApplier applier) {
+        try {
+            Metadata headers = new Metadata();
+            headers.put(AUTHORIZATION, BEARER_PREFIX + token.get());
+            applier.apply(headers);
+        } catch (RuntimeException e) {
+            applier.fail(Status.UNAUTHENTICATED.withDescription("No token to call with").withCause(e));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.neighborconnect.shared.grpc;
+
+import com.google.protobuf.Timestamp;
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.shared.grpc.user.v1.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// UserDto <-> protobuf User. Timestamps carry the service's local date-times as if they were UTC,
+// so they come back unchanged on the other side regardless of either JVM's zone
+public class UserProtoMapper {
+    
+    public static User toProto(UserDto dto) {
+        User.Builder user = User.newBuilder()
+                .setId(dto.getId().toString())
+                .setEmail(dto.getEmail())
+                .setUsername(dto.getUsername())
+                .setVerified(Boolean.TRUE.equals(dto.getVerified()))
+                .setReputation(dto.getReputation() != null ? dto.getReputation() : 0)
+                .setActive(Boolean.TRUE.equals(dto.getIsActive()));
+        setIfPresent(dto.getFirstName(), user::setFirstName);
+        setIfPresent(dto.getLastName(), user::setLastName);
+        setIfPresent(dto.getAvatarUrl(), user::setAvatarUrl);
+        setIfPresent(dto.getNeighborhood(), user::setNeighborhood);
+        setIfPresent(dto.getCity(), user::setCity);
+        setIfPresent(dto.getState(), user::setState);
+        setIfPresent(dto.getCountry(), user::setCountry);
+        setIfPresent(dto.getPostalCode(), user::setPostalCode);
+        setIfPresent(dto.getPhone(), user::setPhone);
+        setIfPresent(toTimestamp(dto.getCreatedAt()), user::setCreatedAt);
+        setIfPresent(toTimestamp(dto.getLastLogin()), user::setLastLogin);
+        return user.build();
+    }
+    
+    public static UserDto toDto(User user) {
+        return new UserDto(
+                UUID.fromString(user.getId()),
+                user.getEmail(),
+                user.getUsername(),
+                user.hasFirstName() ? user.getFirstName() : null,
+                user.hasLastName() ? user.getLastName() : null,
+                user.hasAvatarUrl() ? user.getAvatarUrl() : null,
+                user.hasNeighborhood() ? user.getNeighborhood() : null,
+                user.hasCity() ? user.getCity() : null,
+                user.hasState() ? user.getState() : null,
+                user.hasCountry() ? user.getCountry() : null,
+                user.hasPostalCode() ? user.getPostalCode() : null,
+                user.hasPhone() ? user.getPhone() : null,
+                user.getVerified(),
+                user.getReputation(),
+                user.hasCreatedAt() ? toLocalDateTime(user.getCreatedAt()) : null,
+                user.hasLastLogin() ? toLocalDateTime(user.getLastLogin()) : null,
+                user.getActive()
+        );
+    }
+    
+    public static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+    
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? toTimestamp(dateTime.toInstant(ZoneOffset.UTC)) : null;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+    
+    private static <T> void setIfPresent(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.neighborconnect.shared.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a time-ordered {@link java.util.UUID} primary key. Use in place of
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)} on entity ids.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface GeneratedUuidV7 {
+}
\ No newline at end of file
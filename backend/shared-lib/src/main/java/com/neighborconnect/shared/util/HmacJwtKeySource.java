@@ -0,0 +1,36 @@
+package com.neighborconnect.shared.util;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+
+@Component
+@ConditionalOnProperty(name = "jwt.key-source", havingValue = "hmac", matchIfMissing = true)
+public class HmacJwtKeySource implements JwtKeySource {
+    
+    private final Key key;
+    
+    public HmacJwtKeySource(@Value("${jwt.secret:mySecretKey}") String secret) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+    }
+    
+    @Override
+    public SignatureAlgorithm algorithm() {
+        return SignatureAlgorithm.HS256;
+    }
+    
+    @Override
+    public JwtBuilder sign(JwtBuilder builder) {
+        return builder.signWith(key, SignatureAlgorithm.HS256);
+    }
+    
+    @Override
+    public Key verificationKey(String keyId) {
+        return key;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.neighborconnect.shared.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JWK set support (RFC 7517) for RSA signing keys, shared by the issuer that
+ * publishes {@code /.well-known/jwks.json} and the services that verify against it.
+ */
+public final class Jwks {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private Jwks() {
+    }
+    
+    public static Map<String, Object> toJwk(String keyId, RSAPublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", keyId);
+        jwk.put("n", encode(key.getModulus()));
+        jwk.put("e", encode(key.getPublicExponent()));
+        return jwk;
+    }
+    
+    /** Parses the RSA signing keys of a JWK set, keyed by {@code kid}. Other key types are skipped. */
+    public static Map<String, PublicKey> parse(String json) {
+        try {
+            Map<String, PublicKey> keys = new HashMap<>();
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            for (JsonNode jwk : MAPPER.readTree(json).path("keys")) {
+                String use = jwk.path("use").asText("sig");
+                if (!"RSA".equals(jwk.path("kty").asText()) || !"sig".equals(use) || !jwk.hasNonNull("kid")) {
+                    continue;
+                }
+                RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                        new BigInteger(1, DECODER.decode(jwk.path("n").asText())),
+                        new BigInteger(1, DECODER.decode(jwk.path("e").asText())));
+                keys.put(jwk.get("kid").asText(), keyFactory.generatePublic(spec));
+            }
+            return keys;
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid JWK set: " + e.getMessage(), e);
+        }
+    }
+    
+    /** Stable key id derived from the public key, so every instance holding the key agrees on it. */
+    public static String keyId(PublicKey key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getEncoded());
+            return ENCODER.encodeToString(Arrays.copyOf(hash, 12));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        // Drop the sign byte BigInteger adds when the top bit is set
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return ENCODER.encodeToString(bytes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.neighborconnect.shared.util;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keys used by {@link JwtUtil}. Selected with {@code jwt.key-source}: {@code hmac} (shared secret,
+ * default), {@code jwks} (verify only, against a remote JWK set) or an issuer-side asymmetric source.
+ */
+public interface JwtKeySource {
+    
+    /** The only algorithm accepted when verifying, regardless of what the token header claims. */
+    SignatureAlgorithm algorithm();
+    
+    /** Signs with the current key, setting the {@code kid} header when the source uses key ids. */
+    JwtBuilder sign(JwtBuilder builder);
+    
+    /** Key for the given {@code kid} (may be null), or null when it is not known. */
+    Key verificationKey(String keyId);
+    
+    /** Public keys in JWK form. Symmetric sources never publish anything. */
+    default List<Map<String, Object>> publicJwks() {
+        return List.of();
+    }
+}
\ No newline at end of file
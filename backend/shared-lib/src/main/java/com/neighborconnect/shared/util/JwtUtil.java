@@ -1,64 +1,184 @@
 package com.neighborconnect.shared.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
     
-    @Value("${jwt.secret:mySecretKey}")
-    private String secret;
+    private final JwtKeySource keySource;
     
     @Value("${jwt.expiration:86400000}") // 24 hours
     private Long expiration;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.access-token-expiration:900000}") // 15 minutes
+    private Long accessTokenExpiration;
+    
+    @Value("${jwt.refresh-token-expiration:1209600000}") // 14 days
+    private Long refreshTokenExpiration;
+    
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private long verificationCacheMaxSize;
+    
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header);
+                    }
+                })
+                .build();
+        // Entries live exactly as long as the token they describe
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verificationCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.getExpiration()).toNanos());
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
     
     public String generateToken(String username, UUID userId, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId.toString());
         claims.put("role", role);
-        return createToken(claims, username);
+        return createToken(claims, username, expiration);
+    }
+    
+    /**
+     * Short-lived token for API calls. The version lets services reject it once the
+     * user's minimum token version moves past it, without looking the user up.
+     */
+    public String generateAccessToken(String username, UUID userId, String role, long tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId.toString());
+        claims.put("role", role);
+        claims.put("tokenType", VerifiedToken.ACCESS_TOKEN);
+        claims.put("tokenVersion", tokenVersion);
+        return createToken(claims, username, accessTokenExpiration);
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+    public String generateRefreshToken(String username, UUID userId, long tokenVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId.toString());
+        claims.put("tokenType", VerifiedToken.REFRESH_TOKEN);
+        claims.put("tokenVersion", tokenVersion);
+        return createToken(claims, username, refreshTokenExpiration);
+    }
+    
+    private String createToken(Map<String, Object> claims, String subject, long lifetimeMs) {
+        return keySource.sign(Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + lifetimeMs)))
                 .compact();
     }
     
+    private Key resolveVerificationKey(JwsHeader<?> header) {
+        // Never let the token header choose the algorithm, only the key source decides
+        if (!keySource.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new UnsupportedJwtException("Unexpected JWT algorithm " + header.getAlgorithm());
+        }
+        Key key = keySource.verificationKey(header.getKeyId());
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown JWT key id " + header.getKeyId());
+        }
+        return key;
+    }
+    
+    /**
+     * Parses and verifies the token once and returns all claims the services need.
+     * Tokens seen before are answered from the verification cache without another
+     * signature check. Returns empty for malformed, forged or expired tokens.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+        
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            String userId = claims.get("userId", String.class);
+            Number tokenVersion = claims.get("tokenVersion", Number.class);
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getId(),
+                    claims.getSubject(),
+                    userId != null ? UUID.fromString(userId) : null,
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant(),
+                    claims.get("tokenType", String.class),
+                    tokenVersion != null ? tokenVersion.longValue() : null
+            );
+            verifiedTokens.put(key, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT verification failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    private VerifiedToken requireVerified(String token) {
+        return verify(token).orElseThrow(() -> new RuntimeException("Invalid JWT token"));
+    }
+    
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return requireVerified(token).getSubject();
     }
     
     public UUID extractUserId(String token) {
-        String userIdStr = extractClaim(token, claims -> claims.get("userId", String.class));
-        return UUID.fromString(userIdStr);
+        return requireVerified(token).getUserId();
     }
     
     public String extractRole(String token) {
-        return extractClaim(token, claims -> claims.get("role", String.class));
+        return requireVerified(token).getRole();
     }
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(requireVerified(token).getExpiration());
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -68,32 +188,29 @@ public class JwtUtil {
     
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException e) {
             log.error("JWT parsing failed: {}", e.getMessage());
             throw new RuntimeException("Invalid JWT token");
         }
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return verify(token)
+                .map(verified -> verified.getSubject().equals(username))
+                .orElse(false);
     }
     
     public Boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+    
+    private static String digest(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
\ No newline at end of file
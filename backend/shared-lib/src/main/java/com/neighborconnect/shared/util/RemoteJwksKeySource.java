@@ -0,0 +1,129 @@
+package com.neighborconnect.shared.util;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verify-only key source for services that consume user-service tokens. The JWK set is
+ * fetched at startup and refreshed in the background; lookups only read the current
+ * snapshot, so a refresh never blocks a request. An unknown {@code kid} triggers an
+ * early, rate-limited refresh.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.key-source", havingValue = "jwks")
+@Slf4j
+public class RemoteJwksKeySource implements JwtKeySource, DisposableBean {
+    
+    private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
+    
+    private final URI jwksUri;
+    private final long minRefreshIntervalNanos;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService refresher;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshNanos;
+    
+    public RemoteJwksKeySource(@Value("${jwt.jwks.uri}") URI jwksUri,
+                               @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                               @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(HTTP_TIMEOUT).build();
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        refresh();
+        refresher.scheduleWithFixedDelay(this::refresh,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public SignatureAlgorithm algorithm() {
+        return SignatureAlgorithm.RS256;
+    }
+    
+    @Override
+    public JwtBuilder sign(JwtBuilder builder) {
+        throw new UnsupportedOperationException("JWKS key source can only verify tokens");
+    }
+    
+    @Override
+    public Key verificationKey(String keyId) {
+        PublicKey key = keyId != null ? keys.get(keyId) : null;
+        if (key == null) {
+            requestRefresh();
+        }
+        return key;
+    }
+    
+    private void requestRefresh() {
+        if (System.nanoTime() - lastRefreshNanos < minRefreshIntervalNanos
+                || !refreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                refresh();
+            } finally {
+                refreshPending.set(false);
+            }
+        });
+    }
+    
+    private void refresh() {
+        lastRefreshNanos = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                    .timeout(HTTP_TIMEOUT)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS refresh from {} failed with status {}", jwksUri, response.statusCode());
+                return;
+            }
+            
+            Map<String, PublicKey> fetched = Jwks.parse(response.body());
+            if (fetched.isEmpty()) {
+                log.warn("JWKS from {} contained no usable keys, keeping the previous set", jwksUri);
+                return;
+            }
+            keys = Map.copyOf(fetched);
+            log.debug("Loaded {} JWT verification keys from {}", fetched.size(), jwksUri);
+        } catch (IOException | RuntimeException e) {
+            log.warn("JWKS refresh from {} failed: {}", jwksUri, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
\ No newline at end of file
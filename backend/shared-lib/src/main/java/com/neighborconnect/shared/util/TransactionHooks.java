@@ -0,0 +1,25 @@
+package com.neighborconnect.shared.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionHooks {
+    
+    private TransactionHooks() {
+    }
+    
+    // Runs the action once the surrounding transaction has committed, or right away
+    // when there is none, so in-memory state never reflects a rolled-back write
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
\ No newline at end of file
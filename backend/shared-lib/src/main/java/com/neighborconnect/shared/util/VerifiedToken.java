@@ -0,0 +1,34 @@
+package com.neighborconnect.shared.util;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims of a JWT whose signature has already been checked. Produced by
+ * {@link JwtUtil#verify(String)} so callers read everything from one parse.
+ */
+@Value
+public class VerifiedToken {
+    
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    
+    String tokenId;
+    String subject;
+    UUID userId;
+    String role;
+    Instant expiration;
+    // Null on tokens issued before access/refresh tokens were split
+    String tokenType;
+    Long tokenVersion;
+    
+    public boolean isExpired() {
+        return !expiration.isAfter(Instant.now());
+    }
+    
+    public boolean isRefreshToken() {
+        return REFRESH_TOKEN.equals(tokenType);
+    }
+}
\ No newline at end of file
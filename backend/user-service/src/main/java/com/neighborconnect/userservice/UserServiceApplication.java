@@ -3,16 +3,20 @@ package com.neighborconnect.userservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC only serves non-transactional reads; @Transactional must keep resolving to JPA
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @ComponentScan(basePackages = {
     "com.neighborconnect.userservice",
     "com.neighborconnect.shared"
 })
 @EntityScan("com.neighborconnect.userservice.model")
 @EnableJpaRepositories("com.neighborconnect.userservice.repository")
+@EnableScheduling
 public class UserServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(UserServiceApplication.class, args);
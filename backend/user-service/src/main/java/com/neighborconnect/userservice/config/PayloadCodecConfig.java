@@ -0,0 +1,24 @@
+package com.neighborconnect.userservice.config;
+
+import com.neighborconnect.shared.codec.PayloadCodec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// CBOR and Smile bodies for every controller, negotiated by Accept and Content-Type. Built from
+// the shared-lib codecs so clients decode with exactly the settings the service encoded with;
+// Boot slots them in where its default binary converters would go, so JSON stays the default
+@Configuration
+public class PayloadCodecConfig {
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(PayloadCodec.CBOR.objectMapper());
+    }
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(PayloadCodec.SMILE.objectMapper());
+    }
+}
\ No newline at end of file
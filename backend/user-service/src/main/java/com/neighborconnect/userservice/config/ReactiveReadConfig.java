@@ -0,0 +1,73 @@
+package com.neighborconnect.userservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// JPA writes and R2DBC reads side by side. Boot skips its own DataSource as soon as an R2DBC
+// ConnectionFactory exists, so the JDBC pool is declared here from the same spring.datasource.* keys.
+// The R2DBC pool is derived from those keys too, so overriding the datasource always moves reads with it
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, R2dbcProperties.class})
+public class ReactiveReadConfig {
+    
+    private static final String JDBC_PREFIX = "jdbc:";
+    private static final String JDBC_H2_PREFIX = "jdbc:h2:";
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+    
+    // Only spring.r2dbc.pool.* applies; the connection itself always comes from spring.datasource
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties dataSource, R2dbcProperties r2dbc) {
+        ConnectionFactoryOptions.Builder options = toR2dbcOptions(dataSource.determineUrl()).mutate();
+        if (dataSource.determineUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, dataSource.determineUsername());
+        }
+        if (dataSource.determinePassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, dataSource.determinePassword());
+        }
+        R2dbcProperties.Pool pool = r2dbc.getPool();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+    }
+    
+    static ConnectionFactoryOptions toR2dbcOptions(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("Cannot derive R2DBC reads from spring.datasource.url " + jdbcUrl);
+        }
+        if (jdbcUrl.startsWith(JDBC_H2_PREFIX)) {
+            // r2dbc-h2 takes the JDBC URL body as is, so mem:, file: and tcp: databases match exactly
+            return ConnectionFactoryOptions.builder()
+                    .option(ConnectionFactoryOptions.DRIVER, "h2")
+                    .option(Option.valueOf("url"), jdbcUrl.substring(JDBC_H2_PREFIX.length()))
+                    .build();
+        }
+        // jdbc:postgresql://host:5432/db and friends share the R2DBC URL layout
+        return ConnectionFactoryOptions.parse("r2dbc:" + jdbcUrl.substring(JDBC_PREFIX.length()));
+    }
+    
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
\ No newline at end of file
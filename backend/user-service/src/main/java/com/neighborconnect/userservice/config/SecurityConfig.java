@@ -1,8 +1,11 @@
 package com.neighborconnect.userservice.config;
 
+import com.neighborconnect.userservice.security.BCryptCalibration;
 import com.neighborconnect.userservice.security.JwtAuthenticationEntryPoint;
 import com.neighborconnect.userservice.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,6 +23,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -32,8 +36,12 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password.calibrate:false}") boolean calibrate,
+            @Value("${app.security.password.target-hash-time:250ms}") Duration targetHashTime) {
+        int cost = calibrate ? BCryptCalibration.calibrate(targetHashTime, strength, 16) : strength;
+        return new BCryptPasswordEncoder(cost);
     }
     
     @Bean
@@ -51,12 +59,17 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
+                        // Re-dispatch of reactive and streaming responses; the request was authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        
                         // Public endpoints
                         .requestMatchers("/api/v1/users/register").permitAll()
                         .requestMatchers("/api/v1/users/login").permitAll()
+                        .requestMatchers("/api/v1/users/refresh").permitAll()
                         .requestMatchers("/api/v1/users/verify-email").permitAll()
                         .requestMatchers("/api/v1/users/forgot-password").permitAll()
                         .requestMatchers("/api/v1/users/reset-password").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         
                         // Swagger/OpenAPI endpoints
                         .requestMatchers("/swagger-ui/**").permitAll()
@@ -0,0 +1,44 @@
+package com.neighborconnect.userservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Opt-in virtual-thread mode (spring.threads.virtual.enabled=true on Java 21). Boot then runs
+ * Tomcat requests, and with them the filter chain, plus MVC async and @Async work on virtual
+ * threads. Scheduled jobs deliberately stay on platform threads.
+ */
+@Configuration
+@Slf4j
+public class VirtualThreadsConfig {
+    
+    // The outbox worker holds JavaMail's synchronized SMTP transport across network I/O and the
+    // write-behind flushes run long JDBC batches; on virtual threads both would pin a carrier
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+    
+    @Bean
+    @ConditionalOnProperty("spring.threads.virtual.enabled")
+    public ApplicationListener<ApplicationReadyEvent> virtualThreadModeReporter() {
+        return event -> {
+            if (!Threading.VIRTUAL.isActive(event.getApplicationContext().getEnvironment())) {
+                log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                        Runtime.version().feature());
+                return;
+            }
+            log.info("Requests and async work run on virtual threads, scheduled jobs on platform threads; "
+                    + "start with -Djdk.tracePinnedThreads=short to log any pinning");
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.neighborconnect.userservice.controller;
+
+import com.neighborconnect.shared.util.JwtKeySource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Token Keys", description = "Public keys for verifying issued tokens")
+public class JwksController {
+    
+    private final JwtKeySource keySource;
+    
+    // Plain JWK set rather than ApiResponse, verifiers expect the RFC 7517 shape
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Get the JWK set used to verify access tokens")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(Map.of("keys", keySource.publicJwks()));
+    }
+}
\ No newline at end of file
@@ -1,11 +1,24 @@
 package com.neighborconnect.userservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neighborconnect.shared.dto.ApiResponse;
+import com.neighborconnect.shared.dto.CursorPage;
+import com.neighborconnect.shared.dto.UserBatchRequestDto;
 import com.neighborconnect.shared.dto.UserDto;
 import com.neighborconnect.shared.dto.UserLoginDto;
 import com.neighborconnect.shared.dto.UserRegistrationDto;
 import com.neighborconnect.userservice.dto.LoginResponseDto;
+import com.neighborconnect.userservice.dto.RefreshTokenRequestDto;
+import com.neighborconnect.userservice.dto.UserImportResultDto;
+import com.neighborconnect.userservice.dto.UserSuggestionDto;
+import com.neighborconnect.userservice.dto.VersionedUser;
+import com.neighborconnect.userservice.importer.CsvImportReader;
+import com.neighborconnect.userservice.importer.ImportRow;
+import com.neighborconnect.userservice.importer.JsonImportReader;
 import com.neighborconnect.userservice.service.AuthService;
+import com.neighborconnect.userservice.service.PasswordHashingRejectedException;
+import com.neighborconnect.userservice.service.ReactiveUserService;
+import com.neighborconnect.userservice.service.UserImportService;
 import com.neighborconnect.userservice.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,16 +27,26 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -32,8 +55,16 @@ import java.util.UUID;
 @Tag(name = "User Management", description = "APIs for user registration, authentication, and profile management")
 public class UserController {
     
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int NDJSON_FLUSH_EVERY = 100;
+    private static final String CSV = "text/csv";
+    private static final MediaType CSV_TYPE = MediaType.parseMediaType(CSV);
+    
     private final UserService userService;
+    private final ReactiveUserService reactiveUserService;
     private final AuthService authService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping("/register")
     @Operation(summary = "Register a new user")
@@ -43,6 +74,8 @@ public class UserController {
             UserDto user = userService.registerUser(registrationDto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success(user, "User registered successfully. Please check your email to verify your account."));
+        } catch (PasswordHashingRejectedException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -57,6 +90,8 @@ public class UserController {
         try {
             LoginResponseDto response = authService.login(loginDto);
             return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
+        } catch (PasswordHashingRejectedException e) {
+            return serviceBusy(e);
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -64,13 +99,28 @@ public class UserController {
         }
     }
     
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for new access and refresh tokens")
+    public ResponseEntity<ApiResponse<LoginResponseDto>> refreshToken(
+            @Valid @RequestBody RefreshTokenRequestDto request) {
+        try {
+            LoginResponseDto response = authService.refreshToken(request.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success(response, "Token refreshed"));
+        } catch (Exception e) {
+            log.error("Token refresh failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error("Token refresh failed: " + e.getMessage()));
+        }
+    }
+    
     @PostMapping("/logout")
     @Operation(summary = "User logout")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<Void>> logout(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
         try {
-            authService.logout(userDetails.getUsername());
+            authService.logout(userDetails.getUsername(), authorization.substring("Bearer ".length()));
             return ResponseEntity.ok(ApiResponse.success(null, "Logged out successfully"));
         } catch (Exception e) {
             log.error("Logout failed: {}", e.getMessage());
@@ -85,9 +135,11 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserDto>> getCurrentUserProfile(
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
-            UserDto user = userService.getUserByUsername(userDetails.getUsername())
+            VersionedUser user = userService.getVersionedUserByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
-            return ResponseEntity.ok(ApiResponse.success(user));
+            return ResponseEntity.ok()
+                    .eTag(user.etag())
+                    .body(ApiResponse.success(user.user()));
         } catch (Exception e) {
             log.error("Failed to get user profile: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -96,17 +148,24 @@ public class UserController {
     }
     
     @PutMapping("/profile")
-    @Operation(summary = "Update user profile")
+    @Operation(summary = "Update user profile; send the ETag from GET /profile as If-Match to reject concurrent edits")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<ApiResponse<UserDto>> updateProfile(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UserDto updateDto) {
         try {
             UserDto currentUser = userService.getUserByUsername(userDetails.getUsername())
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
-            UserDto updatedUser = userService.updateUser(currentUser.getId(), updateDto);
-            return ResponseEntity.ok(ApiResponse.success(updatedUser, "Profile updated successfully"));
+            VersionedUser updatedUser = userService.updateUser(currentUser.getId(), updateDto,
+                    VersionedUser.parseIfMatch(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(updatedUser.etag())
+                    .body(ApiResponse.success(updatedUser.user(), "Profile updated successfully"));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(ApiResponse.error("Profile was changed by another request; reload and retry"));
         } catch (Exception e) {
             log.error("Failed to update profile: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -116,26 +175,68 @@ public class UserController {
     
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
-    public ResponseEntity<ApiResponse<UserDto>> getUserById(
+    public Mono<ResponseEntity<ApiResponse<UserDto>>> getUserById(
             @Parameter(description = "User ID") @PathVariable UUID id) {
+        return reactiveUserService.getUserById(id)
+                .map(user -> ResponseEntity.ok(ApiResponse.success(user)))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> {
+                    log.error("Failed to get user by ID: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.notFound().build());
+                });
+    }
+    
+    @PostMapping("/batch")
+    @Operation(summary = "Get up to " + UserBatchRequestDto.MAX_IDS + " users by ID in one query")
+    public Mono<ResponseEntity<ApiResponse<List<UserDto>>>> getUsersByIds(
+            @Valid @RequestBody UserBatchRequestDto request) {
+        return reactiveUserService.getUsersByIds(request.getIds())
+                .map(users -> ResponseEntity.ok(ApiResponse.success(users)))
+                .onErrorResume(e -> {
+                    log.error("Failed to get users by ID: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .body(ApiResponse.error("Failed to get users: " + e.getMessage())));
+                });
+    }
+    
+    @GetMapping("/search/autocomplete")
+    @Operation(summary = "Suggest users by username or name prefix")
+    public ResponseEntity<ApiResponse<List<UserSuggestionDto>>> autocompleteUsers(
+            @Parameter(description = "Username or name prefix") @RequestParam String prefix,
+            @Parameter(description = "Maximum suggestions") @RequestParam(defaultValue = "10") int limit) {
         try {
-            UserDto user = userService.getUserById(id)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            return ResponseEntity.ok(ApiResponse.success(user));
+            List<UserSuggestionDto> suggestions = userService.autocompleteUsers(prefix, Math.min(limit, 50));
+            return ResponseEntity.ok(ApiResponse.success(suggestions));
         } catch (Exception e) {
-            log.error("Failed to get user by ID: {}", e.getMessage());
-            return ResponseEntity.notFound().build();
+            log.error("Autocomplete failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Autocomplete failed: " + e.getMessage()));
         }
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search users")
-    public ResponseEntity<ApiResponse<Page<UserDto>>> searchUsers(
+    public Mono<ResponseEntity<ApiResponse<Page<UserDto>>>> searchUsers(
             @Parameter(description = "Search query") @RequestParam String query,
             @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        return Mono.defer(() -> reactiveUserService.searchUsers(query, page, size))
+                .map(users -> ResponseEntity.ok(ApiResponse.success(users)))
+                .onErrorResume(e -> {
+                    log.error("Search failed: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .body(ApiResponse.error("Search failed: " + e.getMessage())));
+                });
+    }
+    
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Search users with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<UserDto>>> scrollSearchUsers(
+            @Parameter(description = "Search query") @RequestParam String query,
+            @Parameter(description = "Cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size") @RequestParam(defaultValue = "20") int size) {
         try {
-            Page<UserDto> users = userService.searchUsers(query, page, size);
+            CursorPage<UserDto> users = userService.searchUsersAfter(query, cursor, Math.max(1, Math.min(size, 100)));
             return ResponseEntity.ok(ApiResponse.success(users));
         } catch (Exception e) {
             log.error("Search failed: {}", e.getMessage());
@@ -144,20 +245,56 @@ public class UserController {
         }
     }
     
-    @GetMapping("/neighborhood/{neighborhood}")
-    @Operation(summary = "Get users by neighborhood")
-    public ResponseEntity<ApiResponse<List<UserDto>>> getUsersByNeighborhood(
-            @Parameter(description = "Neighborhood name") @PathVariable String neighborhood) {
+    @GetMapping("/city/{city}")
+    @Operation(summary = "Get users by city with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<UserDto>>> getUsersByCity(
+            @Parameter(description = "City name") @PathVariable String city,
+            @Parameter(description = "Cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size") @RequestParam(defaultValue = "20") int size) {
         try {
-            List<UserDto> users = userService.getUsersByNeighborhood(neighborhood);
+            CursorPage<UserDto> users = userService.getUsersByCityAfter(city, cursor, Math.max(1, Math.min(size, 100)));
             return ResponseEntity.ok(ApiResponse.success(users));
         } catch (Exception e) {
-            log.error("Failed to get users by neighborhood: {}", e.getMessage());
+            log.error("Failed to get users by city: {}", e.getMessage());
             return ResponseEntity.badRequest()
                     .body(ApiResponse.error("Failed to get users: " + e.getMessage()));
         }
     }
     
+    @GetMapping("/neighborhood/{neighborhood}")
+    @Operation(summary = "Get users by neighborhood")
+    public Mono<ResponseEntity<ApiResponse<List<UserDto>>>> getUsersByNeighborhood(
+            @Parameter(description = "Neighborhood name") @PathVariable String neighborhood) {
+        return reactiveUserService.getUsersByNeighborhood(neighborhood)
+                .map(users -> ResponseEntity.ok(ApiResponse.success(users)))
+                .onErrorResume(e -> {
+                    log.error("Failed to get users by neighborhood: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest()
+                            .body(ApiResponse.error("Failed to get users: " + e.getMessage())));
+                });
+    }
+    
+    @GetMapping(value = "/neighborhood/{neighborhood}/stream", produces = NDJSON)
+    @Operation(summary = "Stream users by neighborhood as NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamUsersByNeighborhood(
+            @Parameter(description = "Neighborhood name") @PathVariable String neighborhood) {
+        return ndjson(consumer -> userService.streamUsersByNeighborhood(neighborhood, consumer));
+    }
+    
+    @GetMapping(value = "/export/active", produces = NDJSON)
+    @Operation(summary = "Stream all active users as NDJSON (Admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportActiveUsers() {
+        return ndjson(userService::streamActiveUsers);
+    }
+    
+    @GetMapping(value = "/export/verified", produces = NDJSON)
+    @Operation(summary = "Stream all verified users as NDJSON (Admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportVerifiedUsers() {
+        return ndjson(userService::streamVerifiedUsers);
+    }
+    
     @GetMapping("/verify-email")
     @Operation(summary = "Verify email address")
     public ResponseEntity<ApiResponse<Void>> verifyEmail(
@@ -193,12 +330,17 @@ public class UserController {
     }
     
     @PostMapping("/{id}/reputation")
-    @Operation(summary = "Update user reputation")
+    @Operation(summary = "Update user reputation; deferred changes are summed and applied in batches")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Void>> updateReputation(
             @Parameter(description = "User ID") @PathVariable UUID id,
-            @Parameter(description = "Reputation change") @RequestParam int change) {
+            @Parameter(description = "Reputation change") @RequestParam int change,
+            @Parameter(description = "Queue the change instead of applying it now") @RequestParam(defaultValue = "false") boolean deferred) {
         try {
+            if (deferred) {
+                userService.queueReputationChange(id, change);
+                return ResponseEntity.accepted().body(ApiResponse.success(null, "Reputation change queued"));
+            }
             userService.updateReputation(id, change);
             return ResponseEntity.ok(ApiResponse.success(null, "Reputation updated"));
         } catch (Exception e) {
@@ -238,6 +380,28 @@ public class UserController {
         }
     }
     
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON, CSV})
+    @Operation(summary = "Bulk register users from a JSON array, NDJSON or CSV upload (Admin only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserImportResultDto>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        try {
+            Iterator<ImportRow> rows = CSV_TYPE.includes(contentType)
+                    ? new CsvImportReader(body)
+                    : new JsonImportReader(objectMapper, body);
+            UserImportResultDto result = userImportService.importUsers(rows);
+            return ResponseEntity.ok(ApiResponse.success(result,
+                    result.getCreated() + " of " + result.getTotal() + " users imported"));
+        } catch (PasswordHashingRejectedException e) {
+            return serviceBusy(e);
+        } catch (Exception e) {
+            log.error("User import failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("User import failed: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/stats")
     @Operation(summary = "Get user statistics (Admin only)")
     @PreAuthorize("hasRole('ADMIN')")
@@ -245,11 +409,13 @@ public class UserController {
         try {
             long totalUsers = userService.getTotalUsersCount();
             long verifiedUsers = userService.getVerifiedUsersCount();
+            long activeUsers = userService.getActiveUsersCount();
             long newUsersLastMonth = userService.getNewUsersLastMonthCount();
             
             var stats = new Object() {
                 public final long total = totalUsers;
                 public final long verified = verifiedUsers;
+                public final long active = activeUsers;
                 public final long newLastMonth = newUsersLastMonth;
                 public final double verificationRate = totalUsers > 0 ? (double) verifiedUsers / totalUsers * 100 : 0;
             };
@@ -261,4 +427,37 @@ public class UserController {
                     .body(ApiResponse.error("Failed to get stats: " + e.getMessage()));
         }
     }
+    
+    private <T> ResponseEntity<ApiResponse<T>> serviceBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponse.error(e.getMessage()));
+    }
+    
+    // One JSON document per line, flushed as rows arrive so the first bytes go out
+    // before the query finishes; failures after that can only end the stream
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<UserDto>> producer) {
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            try {
+                producer.accept(user -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(user));
+                        outputStream.write('\n');
+                        if (++written[0] % NDJSON_FLUSH_EVERY == 1) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("User stream aborted after {} rows: {}", written[0], e.getMessage());
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
 }
\ No newline at end of file
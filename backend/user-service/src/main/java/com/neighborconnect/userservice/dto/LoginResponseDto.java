@@ -15,6 +15,7 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class LoginResponseDto {
     private String token;
+    private String refreshToken;
     private String tokenType = "Bearer";
     private UUID userId;
     private String username;
@@ -0,0 +1,15 @@
+package com.neighborconnect.userservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDto {
+    
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
\ No newline at end of file
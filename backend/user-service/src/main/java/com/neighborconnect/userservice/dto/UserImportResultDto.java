@@ -0,0 +1,36 @@
+package com.neighborconnect.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDto {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<RowResult> rows;
+    
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+        private int row;
+        private Status status;
+        private String email;
+        private String username;
+        private UUID userId;
+        private String message;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.neighborconnect.userservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSuggestionDto {
+    private UUID id;
+    private String username;
+    private String firstName;
+    private String lastName;
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.neighborconnect.userservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor over listings ordered by (username, id): the last row a
+ * client has seen, base64url-encoded so clients treat it as a token.
+ */
+public record UsernameCursor(String username, UUID id) {
+    
+    // Sorts before every real row
+    public static final UsernameCursor START = new UsernameCursor("", new UUID(0, 0));
+    
+    public static UsernameCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new UsernameCursor(decoded.substring(0, separator), UUID.fromString(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((username + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
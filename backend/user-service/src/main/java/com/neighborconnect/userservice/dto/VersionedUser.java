@@ -0,0 +1,27 @@
+package com.neighborconnect.userservice.dto;
+
+import com.neighborconnect.shared.dto.UserDto;
+
+// A user together with the row version it was read at, exposed to clients as the ETag
+public record VersionedUser(UserDto user, long version) {
+    
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+    
+    // Accepts the ETag form ("3") as well as a bare number; null when absent
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.strip();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be an ETag returned by this API");
+        }
+    }
+}
\ No newline at end of file
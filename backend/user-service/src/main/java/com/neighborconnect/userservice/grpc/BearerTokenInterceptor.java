@@ -0,0 +1,47 @@
+package com.neighborconnect.userservice.grpc;
+
+import com.neighborconnect.shared.grpc.BearerTokenCredentials;
+import com.neighborconnect.shared.grpc.user.v1.UserServiceGrpc;
+import com.neighborconnect.userservice.security.AccessTokenValidator;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// The gRPC counterpart of JwtAuthenticationFilter: every call needs a valid access token
+@Component
+@RequiredArgsConstructor
+public class BearerTokenInterceptor implements ServerInterceptor {
+    
+    // The token to check travels in the request itself
+    private static final Set<String> PUBLIC_METHODS = Set.of(
+            UserServiceGrpc.getValidateTokenMethod().getFullMethodName());
+    
+    private final AccessTokenValidator accessTokenValidator;
+    
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call,
+                                                                 Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (PUBLIC_METHODS.contains(call.getMethodDescriptor().getFullMethodName())
+                || accessTokenValidator.validate(getToken(headers)).isPresent()) {
+            return next.startCall(call, headers);
+        }
+        call.close(Status.UNAUTHENTICATED.withDescription("A valid access token is required"), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+    
+    private static String getToken(Metadata headers) {
+        String authorization = headers.get(BearerTokenCredentials.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BearerTokenCredentials.BEARER_PREFIX)) {
+            return authorization.substring(BearerTokenCredentials.BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.neighborconnect.userservice.grpc;
+
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded gRPC server for internal callers, next to the HTTP API. One HTTP/2 connection
+ * carries many concurrent calls, so callers keep a long-lived channel instead of a pool.
+ * With {@code app.grpc.in-process-name} set the same services are also reachable through
+ * {@code InProcessChannelBuilder.forName(name)}, without a socket.
+ *
+ * <p>Off unless {@code app.grpc.enabled} is set. The listener is plaintext, so it binds to
+ * {@code app.grpc.address} (loopback by default) and belongs on a private network only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.grpc.enabled", havingValue = "true")
+@Slf4j
+public class GrpcServer implements SmartLifecycle {
+    
+    private final ServerServiceDefinition userService;
+    private final String address;
+    private final int port;
+    private final String inProcessName;
+    private final Duration shutdownGracePeriod;
+    private final List<Server> servers = new ArrayList<>();
+    
+    public GrpcServer(UserGrpcService userGrpcService,
+                      BearerTokenInterceptor bearerTokenInterceptor,
+                      @Value("${app.grpc.address:127.0.0.1}") String address,
+                      @Value("${app.grpc.port:9091}") int port,
+                      @Value("${app.grpc.in-process-name:}") String inProcessName,
+                      @Value("${app.grpc.shutdown-grace-period:5s}") Duration shutdownGracePeriod) {
+        this.userService = ServerInterceptors.intercept(userGrpcService, bearerTokenInterceptor);
+        this.address = address;
+        this.port = port;
+        this.inProcessName = inProcessName;
+        this.shutdownGracePeriod = shutdownGracePeriod;
+    }
+    
+    @Override
+    public synchronized void start() {
+        try {
+            if (port >= 0) {
+                Server server = NettyServerBuilder.forAddress(new InetSocketAddress(address, port),
+                                InsecureServerCredentials.create())
+                        .addService(userService)
+                        .build()
+                        .start();
+                servers.add(server);
+                log.info("gRPC server listening on {}:{}", address, server.getPort());
+            }
+            if (!inProcessName.isBlank()) {
+                servers.add(InProcessServerBuilder.forName(inProcessName)
+                        .addService(userService)
+                        .build()
+                        .start());
+                log.info("gRPC server available in-process as '{}'", inProcessName);
+            }
+        } catch (IOException e) {
+            stop();
+            throw new UncheckedIOException("Failed to start gRPC server", e);
+        }
+    }
+    
+    @Override
+    public synchronized void stop() {
+        servers.forEach(Server::shutdown);
+        for (Server server : servers) {
+            try {
+                // Watch streams never finish on their own
+                if (!server.awaitTermination(shutdownGracePeriod.toMillis(), TimeUnit.MILLISECONDS)) {
+                    server.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                server.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        servers.clear();
+    }
+    
+    @Override
+    public synchronized boolean isRunning() {
+        return !servers.isEmpty();
+    }
+}
\ No newline at end of file
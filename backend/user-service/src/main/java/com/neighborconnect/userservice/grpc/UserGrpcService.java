@@ -0,0 +1,221 @@
+package com.neighborconnect.userservice.grpc;
+
+import com.neighborconnect.shared.dto.UserBatchRequestDto;
+import com.neighborconnect.shared.grpc.UserProtoMapper;
+import com.neighborconnect.shared.grpc.user.v1.GetUserRequest;
+import com.neighborconnect.shared.grpc.user.v1.GetUsersRequest;
+import com.neighborconnect.shared.grpc.user.v1.GetUsersResponse;
+import com.neighborconnect.shared.grpc.user.v1.User;
+import com.neighborconnect.shared.grpc.user.v1.UserChange;
+import com.neighborconnect.shared.grpc.user.v1.UserChangeType;
+import com.neighborconnect.shared.grpc.user.v1.UserServiceGrpc;
+import com.neighborconnect.shared.grpc.user.v1.ValidateTokenRequest;
+import com.neighborconnect.shared.grpc.user.v1.ValidateTokenResponse;
+import com.neighborconnect.shared.grpc.user.v1.WatchUserChangesRequest;
+import com.neighborconnect.shared.util.VerifiedToken;
+import com.neighborconnect.userservice.security.AccessTokenValidator;
+import com.neighborconnect.userservice.service.ReactiveUserService;
+import com.neighborconnect.userservice.service.UserChangeFeed;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reads go through the same non-blocking R2DBC path as the reactive REST endpoints
+@Component
+@Slf4j
+public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+    
+    private final ReactiveUserService reactiveUserService;
+    private final AccessTokenValidator accessTokenValidator;
+    private final UserChangeFeed userChangeFeed;
+    private final int watchBuffer;
+    
+    public UserGrpcService(ReactiveUserService reactiveUserService,
+                           AccessTokenValidator accessTokenValidator,
+                           UserChangeFeed userChangeFeed,
+                           @Value("${app.grpc.watch-buffer:256}") int watchBuffer) {
+        this.reactiveUserService = reactiveUserService;
+        this.accessTokenValidator = accessTokenValidator;
+        this.userChangeFeed = userChangeFeed;
+        this.watchBuffer = watchBuffer;
+    }
+    
+    @Override
+    public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+        respond(Mono.fromCallable(() -> parseId(request.getId()))
+                        .flatMap(reactiveUserService::getUserById)
+                        .map(UserProtoMapper::toProto)
+                        .switchIfEmpty(Mono.error(Status.NOT_FOUND.withDescription("User not found").asRuntimeException())),
+                responseObserver);
+    }
+    
+    @Override
+    public void getUsers(GetUsersRequest request, StreamObserver<GetUsersResponse> responseObserver) {
+        respond(Mono.fromCallable(() -> parseIds(request.getIdsList()))
+                        .flatMap(reactiveUserService::getUsersByIds)
+                        .map(users -> GetUsersResponse.newBuilder()
+                                .addAllUsers(users.stream().map(UserProtoMapper::toProto).toList())
+                                .build()),
+                responseObserver);
+    }
+    
+    @Override
+    public void validateToken(ValidateTokenRequest request, StreamObserver<ValidateTokenResponse> responseObserver) {
+        ValidateTokenResponse.Builder response = ValidateTokenResponse.newBuilder();
+        try {
+            VerifiedToken verified = accessTokenValidator.validate(request.getToken()).orElse(null);
+            if (verified != null) {
+                response.setValid(true)
+                        .setUsername(verified.getSubject())
+                        .setExpiresAt(UserProtoMapper.toTimestamp(verified.getExpiration()));
+                if (verified.getUserId() != null) {
+                    response.setUserId(verified.getUserId().toString());
+                }
+                if (verified.getRole() != null) {
+                    response.setRole(verified.getRole());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Token validation failed: {}", e.getMessage());
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+    
+    @Override
+    public void watchUserChanges(WatchUserChangesRequest request, StreamObserver<UserChange> responseObserver) {
+        Set<UUID> ids;
+        try {
+            // Always scoped to named users, so no caller can stream every user's contact details
+            ids = Set.copyOf(parseIds(request.getIdsList()));
+        } catch (StatusRuntimeException e) {
+            responseObserver.onError(e);
+            return;
+        }
+        
+        ServerCallStreamObserver<UserChange> call = (ServerCallStreamObserver<UserChange>) responseObserver;
+        WatchSubscriber subscriber = new WatchSubscriber(call);
+        call.setOnReadyHandler(subscriber::onReady);
+        call.setOnCancelHandler(subscriber::dispose);
+        userChangeFeed.changes()
+                .filter(change -> ids.contains(change.userId()))
+                // Overflow ends the stream instead of silently skipping changes
+                .onBackpressureBuffer(watchBuffer)
+                .concatMap(change -> reactiveUserService.getUserById(change.userId())
+                        .map(user -> UserChange.newBuilder()
+                                .setType(toProto(change.type()))
+                                .setUser(UserProtoMapper.toProto(user))
+                                .build()))
+                .subscribe(subscriber);
+    }
+    
+    // Requests the next change only while the client keeps up, so gRPC never buffers more than one
+    private static class WatchSubscriber extends BaseSubscriber<UserChange> {
+        
+        private final ServerCallStreamObserver<UserChange> call;
+        private final AtomicBoolean awaitingReady = new AtomicBoolean();
+        
+        WatchSubscriber(ServerCallStreamObserver<UserChange> call) {
+            this.call = call;
+        }
+        
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+        
+        @Override
+        protected void hookOnNext(UserChange change) {
+            call.onNext(change);
+            if (call.isReady()) {
+                request(1);
+                return;
+            }
+            awaitingReady.set(true);
+            // The transport may have become ready before the flag was set
+            if (call.isReady()) {
+                onReady();
+            }
+        }
+        
+        @Override
+        protected void hookOnError(Throwable error) {
+            call.onError(Exceptions.isOverflow(error)
+                    ? Status.RESOURCE_EXHAUSTED.withDescription("Watcher fell behind; re-fetch and watch again").asRuntimeException()
+                    : toStatus(error));
+        }
+        
+        @Override
+        protected void hookOnComplete() {
+            call.onCompleted();
+        }
+        
+        void onReady() {
+            if (awaitingReady.compareAndSet(true, false)) {
+                request(1);
+            }
+        }
+    }
+    
+    private static <T> void respond(Mono<T> result, StreamObserver<T> responseObserver) {
+        Disposable.Swap subscription = Disposables.swap();
+        ((ServerCallStreamObserver<T>) responseObserver).setOnCancelHandler(subscription::dispose);
+        subscription.update(result.subscribe(
+                value -> {
+                    responseObserver.onNext(value);
+                    responseObserver.onCompleted();
+                },
+                error -> responseObserver.onError(toStatus(error))));
+    }
+    
+    private static StatusRuntimeException toStatus(Throwable error) {
+        if (error instanceof StatusRuntimeException status) {
+            return status;
+        }
+        log.error("gRPC call failed: {}", error.getMessage());
+        return Status.INTERNAL.withDescription("Internal error").asRuntimeException();
+    }
+    
+    private static List<UUID> parseIds(List<String> ids) {
+        if (ids.isEmpty() || ids.size() > UserBatchRequestDto.MAX_IDS) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("Between 1 and " + UserBatchRequestDto.MAX_IDS + " user IDs are required")
+                    .asRuntimeException();
+        }
+        return ids.stream().map(UserGrpcService::parseId).toList();
+    }
+    
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT.withDescription("Invalid user ID: " + id).asRuntimeException();
+        }
+    }
+    
+    private static UserChangeType toProto(UserChangeFeed.Type type) {
+        return switch (type) {
+            case CREATED -> UserChangeType.USER_CHANGE_TYPE_CREATED;
+            case UPDATED -> UserChangeType.USER_CHANGE_TYPE_UPDATED;
+            case DEACTIVATED -> UserChangeType.USER_CHANGE_TYPE_DEACTIVATED;
+            case REACTIVATED -> UserChangeType.USER_CHANGE_TYPE_REACTIVATED;
+        };
+    }
+}
\ No newline at end of file
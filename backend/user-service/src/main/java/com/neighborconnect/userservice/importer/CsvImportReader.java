@@ -0,0 +1,139 @@
+package com.neighborconnect.userservice.importer;
+
+import com.neighborconnect.shared.dto.UserRegistrationDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads registrations from RFC 4180 CSV with a header row naming the
+ * {@link UserRegistrationDto} fields (case-insensitive, in any order). Quoted
+ * fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvImportReader implements Iterator<ImportRow> {
+    
+    private static final Map<String, BiConsumer<UserRegistrationDto, String>> COLUMNS = Map.ofEntries(
+            Map.entry("email", UserRegistrationDto::setEmail),
+            Map.entry("username", UserRegistrationDto::setUsername),
+            Map.entry("password", UserRegistrationDto::setPassword),
+            Map.entry("firstname", UserRegistrationDto::setFirstName),
+            Map.entry("lastname", UserRegistrationDto::setLastName),
+            Map.entry("neighborhood", UserRegistrationDto::setNeighborhood),
+            Map.entry("city", UserRegistrationDto::setCity),
+            Map.entry("state", UserRegistrationDto::setState),
+            Map.entry("country", UserRegistrationDto::setCountry),
+            Map.entry("postalcode", UserRegistrationDto::setPostalCode),
+            Map.entry("phone", UserRegistrationDto::setPhone)
+    );
+    
+    private final BufferedReader reader;
+    private final List<BiConsumer<UserRegistrationDto, String>> setters = new ArrayList<>();
+    private List<String> pending;
+    private int row;
+    
+    public CsvImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        for (String name : header) {
+            BiConsumer<UserRegistrationDto, String> setter = COLUMNS.get(name.strip().toLowerCase(Locale.ROOT));
+            if (setter == null) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            setters.add(setter);
+        }
+        pending = readRecord();
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return pending != null;
+    }
+    
+    @Override
+    public ImportRow next() {
+        if (pending == null) {
+            throw new NoSuchElementException();
+        }
+        List<String> fields = pending;
+        pending = readRecord();
+        row++;
+        
+        if (fields.size() != setters.size()) {
+            return ImportRow.unreadable(row, "Expected " + setters.size() + " columns but found " + fields.size());
+        }
+        UserRegistrationDto registration = new UserRegistrationDto();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i);
+            setters.get(i).accept(registration, value.isEmpty() ? null : value);
+        }
+        return ImportRow.of(row, registration);
+    }
+    
+    // Next record, skipping blank lines; null at end of input
+    private List<String> readRecord() {
+        try {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean blank = true;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    blank = false;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    blank = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (!blank) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                } else {
+                    field.append((char) c);
+                    blank = false;
+                }
+            }
+            if (blank) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.neighborconnect.userservice.importer;
+
+import com.neighborconnect.shared.dto.UserRegistrationDto;
+
+// One input record; error is set instead of registration when the record could not be read
+public record ImportRow(int row, UserRegistrationDto registration, String error) {
+    
+    public static ImportRow of(int row, UserRegistrationDto registration) {
+        return new ImportRow(row, registration, null);
+    }
+    
+    public static ImportRow unreadable(int row, String error) {
+        return new ImportRow(row, null, error);
+    }
+}
\ No newline at end of file
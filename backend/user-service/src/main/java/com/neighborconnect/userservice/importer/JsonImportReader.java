@@ -0,0 +1,61 @@
+package com.neighborconnect.userservice.importer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neighborconnect.shared.dto.UserRegistrationDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads registrations one at a time from a JSON array or from newline-delimited
+ * JSON, so the whole upload is never bound at once. A record that does not map
+ * onto {@link UserRegistrationDto} is reported and skipped; a syntax error ends
+ * the input.
+ */
+public class JsonImportReader implements Iterator<ImportRow> {
+    
+    private final MappingIterator<UserRegistrationDto> records;
+    private int row;
+    private boolean broken;
+    
+    public JsonImportReader(ObjectMapper objectMapper, InputStream in) {
+        try {
+            this.records = objectMapper.readerFor(UserRegistrationDto.class).readValues(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (broken) {
+            return false;
+        }
+        try {
+            return records.hasNextValue();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        row++;
+        try {
+            return ImportRow.of(row, records.nextValue());
+        } catch (JsonParseException e) {
+            broken = true;
+            return ImportRow.unreadable(row, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            return ImportRow.unreadable(row, "Unreadable record: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.neighborconnect.userservice.mapper;
 
 import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.shared.dto.UserRegistrationDto;
 import com.neighborconnect.userservice.model.User;
 
+import java.util.UUID;
+
 public class UserMapper {
     
     public static UserDto toDto(User user) {
@@ -32,6 +35,24 @@ public class UserMapper {
         return dto;
     }
     
+    // New account with a fresh verification token; the password must already be hashed
+    public static User fromRegistration(UserRegistrationDto registration, String passwordHash) {
+        User user = new User();
+        user.setEmail(registration.getEmail());
+        user.setUsername(registration.getUsername());
+        user.setPasswordHash(passwordHash);
+        user.setFirstName(registration.getFirstName());
+        user.setLastName(registration.getLastName());
+        user.setNeighborhood(registration.getNeighborhood());
+        user.setCity(registration.getCity());
+        user.setState(registration.getState());
+        user.setCountry(registration.getCountry());
+        user.setPostalCode(registration.getPostalCode());
+        user.setPhone(registration.getPhone());
+        user.setVerificationToken(UUID.randomUUID().toString());
+        return user;
+    }
+    
     public static User toEntity(UserDto dto) {
         if (dto == null) {
             return null;
@@ -57,41 +78,4 @@ public class UserMapper {
         
         return user;
     }
-    
-    // Partial update - only updates non-null fields
-    public static void updateEntityFromDto(User entity, UserDto dto) {
-        // Guard against null values to prevent NullPointerException
-        // when either the target entity or the source DTO is missing
-        if (entity == null || dto == null) {
-            return;
-        }
-        
-        if (dto.getFirstName() != null) {
-            entity.setFirstName(dto.getFirstName());
-        }
-        if (dto.getLastName() != null) {
-            entity.setLastName(dto.getLastName());
-        }
-        if (dto.getAvatarUrl() != null) {
-            entity.setAvatarUrl(dto.getAvatarUrl());
-        }
-        if (dto.getNeighborhood() != null) {
-            entity.setNeighborhood(dto.getNeighborhood());
-        }
-        if (dto.getCity() != null) {
-            entity.setCity(dto.getCity());
-        }
-        if (dto.getState() != null) {
-            entity.setState(dto.getState());
-        }
-        if (dto.getCountry() != null) {
-            entity.setCountry(dto.getCountry());
-        }
-        if (dto.getPostalCode() != null) {
-            entity.setPostalCode(dto.getPostalCode());
-        }
-        if (dto.getPhone() != null) {
-            entity.setPhone(dto.getPhone());
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.neighborconnect.userservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long each pooled connection is held, from checkout to close,
+ * tagged with the service method that checked it out.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+    
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+    
+    private Connection track(Connection connection) {
+        String operation = ServiceOperation.current();
+        long checkedOutAt = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            if (released.compareAndSet(false, true)) {
+                                record(operation, System.nanoTime() - checkedOutAt);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+    
+    private void record(String operation, long heldNanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Timer.builder("db.connection.hold")
+                .description("Time a JDBC connection is held between checkout and release")
+                .tag("method", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.neighborconnect.userservice.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+/**
+ * Tracks which service method the current thread is executing, so lower layers
+ * (such as the connection metrics) can attribute their measurements to it.
+ */
+public final class ServiceOperation {
+    
+    private static final String UNKNOWN = "other";
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private ServiceOperation() {
+    }
+    
+    public static String current() {
+        String operation = CURRENT.get();
+        return operation != null ? operation : UNKNOWN;
+    }
+    
+    public static MethodInterceptor interceptor() {
+        return invocation -> {
+            String previous = CURRENT.get();
+            CURRENT.set(invocation.getMethod().getDeclaringClass().getSimpleName()
+                    + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.neighborconnect.userservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One key of the shared RS256 signing ring. Generation orders the ring and is unique, so two
+// instances seeding or rotating at the same time cannot both add the same key slot
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@NoArgsConstructor
+public class JwtSigningKey {
+    
+    @Id
+    @Column(length = 64)
+    private String kid;
+    
+    @Column(nullable = false, unique = true)
+    private Long generation;
+    
+    // Base64 PKCS#8, AES-GCM sealed by JwtSigningKeyStore before it is written
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private String privateKey;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    public JwtSigningKey(String kid, long generation, String privateKey, Instant createdAt) {
+        this.kid = kid;
+        this.generation = generation;
+        this.privateKey = privateKey;
+        this.createdAt = createdAt;
+    }
+}
\ No newline at end of file
@@ -1,29 +1,48 @@
 package com.neighborconnect.userservice.model;
 
+import com.neighborconnect.shared.persistence.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+// Cached by id and by username, so repeat lookups inside and across requests skip JDBC
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
+// Updates write only changed columns, so they never clobber write-behind or patched columns
+@DynamicUpdate
+@Table(name = "users", indexes = {
+        // Keyset pagination of city directories
+        @Index(name = "idx_users_city_username", columnList = "city, username, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     
+    public static final String CACHE_REGION = "users";
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-username";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
     
     @Column(unique = true, nullable = false)
     private String email;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
     
@@ -81,6 +100,16 @@ public class User {
     @Column(name = "reset_token_expiry")
     private LocalDateTime resetTokenExpiry;
     
+    // Raised to invalidate every token issued so far
+    @Column(name = "token_version", columnDefinition = "BIGINT DEFAULT 0")
+    private Long tokenVersion = 0L;
+    
+    // Optimistic lock, also advanced by UserPatchRepository. Left null until persisted
+    // so Spring Data still treats unsaved users as new
+    @Version
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+    
     // Constructor without ID (for creation)
     public User(String email, String username, String passwordHash, String firstName, String lastName) {
         this.email = email;
@@ -0,0 +1,38 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.userservice.model.EmailOutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+    
+    // SKIP LOCKED (-2) lets several instances drain the outbox without claiming the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("status") EmailOutboxMessage.Status status,
+                                              @Param("now") LocalDateTime now,
+                                              Limit limit);
+    
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.sentAt = :now, m.lastError = null " +
+           "WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+    
+    long countByStatus(EmailOutboxMessage.Status status);
+}
\ No newline at end of file
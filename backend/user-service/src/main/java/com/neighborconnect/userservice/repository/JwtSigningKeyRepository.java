@@ -0,0 +1,13 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.userservice.model.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+    
+    List<JwtSigningKey> findAllByOrderByGenerationAsc();
+}
\ No newline at end of file
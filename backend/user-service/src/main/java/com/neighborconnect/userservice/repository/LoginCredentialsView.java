@@ -0,0 +1,17 @@
+package com.neighborconnect.userservice.repository;
+
+import java.util.UUID;
+
+// Just what the login flow needs, read without hydrating the User entity
+public interface LoginCredentialsView {
+    UUID getId();
+    String getEmail();
+    String getUsername();
+    String getPasswordHash();
+    String getFirstName();
+    String getLastName();
+    Boolean getVerified();
+    Boolean getEmailVerified();
+    Boolean getIsActive();
+    Long getTokenVersion();
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.shared.dto.UserDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of the users table over R2DBC. Rows map to UserDto field for field
+ * like UserMapper.toDto, and the filters match their JPA counterparts in UserRepository.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+    
+    private static final String COLUMNS = "id, email, username, first_name, last_name, avatar_url, " +
+            "neighborhood, city, state, country, postal_code, phone, verified, reputation, created_at, " +
+            "last_login, is_active";
+    private static final String SEARCH_MATCHES = "is_active = TRUE AND " +
+            "(LOWER(username) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(first_name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(last_name) LIKE LOWER(CONCAT('%', :query, '%')))";
+    
+    private final DatabaseClient databaseClient;
+    
+    public Mono<UserDto> findById(UUID id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toDto)
+                .one();
+    }
+    
+    public Flux<UserDto> findByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(ReactiveUserRepository::toDto)
+                .all();
+    }
+    
+    public Flux<UserDto> findActiveByIdIn(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE id IN (:ids) AND is_active = TRUE")
+                .bind("ids", ids)
+                .map(ReactiveUserRepository::toDto)
+                .all();
+    }
+    
+    public Flux<UserDto> findByNeighborhood(String neighborhood) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE neighborhood = :neighborhood AND is_active = TRUE")
+                .bind("neighborhood", neighborhood)
+                .map(ReactiveUserRepository::toDto)
+                .all();
+    }
+    
+    // Sorted by username like the JPA search; used until the in-memory search index is built
+    public Flux<UserDto> searchUsers(String query, Pageable pageable) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM users WHERE " + SEARCH_MATCHES +
+                        " ORDER BY username LIMIT :limit OFFSET :offset")
+                .bind("query", query)
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveUserRepository::toDto)
+                .all();
+    }
+    
+    public Mono<Long> countSearchMatches(String query) {
+        return databaseClient.sql("SELECT COUNT(*) FROM users WHERE " + SEARCH_MATCHES)
+                .bind("query", query)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+    
+    private static UserDto toDto(Readable row) {
+        return new UserDto(
+                row.get("id", UUID.class),
+                row.get("email", String.class),
+                row.get("username", String.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("avatar_url", String.class),
+                row.get("neighborhood", String.class),
+                row.get("city", String.class),
+                row.get("state", String.class),
+                row.get("country", String.class),
+                row.get("postal_code", String.class),
+                row.get("phone", String.class),
+                row.get("verified", Boolean.class),
+                row.get("reputation", Integer.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("last_login", LocalDateTime.class),
+                row.get("is_active", Boolean.class)
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.neighborconnect.userservice.repository;
+
+import java.util.UUID;
+
+public interface TokenVersionView {
+    UUID getId();
+    Long getTokenVersion();
+}
\ No newline at end of file
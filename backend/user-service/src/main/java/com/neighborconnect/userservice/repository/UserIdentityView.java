@@ -0,0 +1,7 @@
+package com.neighborconnect.userservice.repository;
+
+// The unique columns a registration can collide on
+public interface UserIdentityView {
+    String getEmail();
+    String getUsername();
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.userservice.model.User;
+
+import java.util.Optional;
+
+// Username lookups resolved through Hibernate's natural-id cache rather than a query
+public interface UserNaturalIdLookup {
+    
+    Optional<User> findByUsername(String username);
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.userservice.model.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserNaturalIdLookupImpl implements UserNaturalIdLookup {
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
\ No newline at end of file
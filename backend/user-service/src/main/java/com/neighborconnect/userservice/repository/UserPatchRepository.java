@@ -0,0 +1,164 @@
+package com.neighborconnect.userservice.repository;
+
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.dto.VersionedUser;
+import com.neighborconnect.userservice.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Applies the non-null profile fields of a {@link UserDto} with one dynamic
+ * {@code UPDATE} that also returns the updated row: {@code RETURNING} on
+ * Postgres, {@code FINAL TABLE} on H2, and an update followed by a re-read
+ * elsewhere. Every patch advances the row's version, so Hibernate writes holding
+ * an older copy fail their optimistic check.
+ */
+@Repository
+@Slf4j
+public class UserPatchRepository {
+    
+    // Patchable profile fields and their columns; identity, status and counters are not patchable
+    private static final Map<String, Function<UserDto, Object>> PATCHABLE = new LinkedHashMap<>();
+    
+    static {
+        PATCHABLE.put("first_name", UserDto::getFirstName);
+        PATCHABLE.put("last_name", UserDto::getLastName);
+        PATCHABLE.put("avatar_url", UserDto::getAvatarUrl);
+        PATCHABLE.put("neighborhood", UserDto::getNeighborhood);
+        PATCHABLE.put("city", UserDto::getCity);
+        PATCHABLE.put("state", UserDto::getState);
+        PATCHABLE.put("country", UserDto::getCountry);
+        PATCHABLE.put("postal_code", UserDto::getPostalCode);
+        PATCHABLE.put("phone", UserDto::getPhone);
+    }
+    
+    private static final String RETURNED_COLUMNS = "id, email, username, first_name, last_name, avatar_url, " +
+            "neighborhood, city, state, country, postal_code, phone, verified, reputation, created_at, " +
+            "last_login, is_active, version";
+    
+    private static final RowMapper<VersionedUser> PATCHED_ROW = (rs, rowNum) -> new VersionedUser(
+            new UserDto(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("email"),
+                    rs.getString("username"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("avatar_url"),
+                    rs.getString("neighborhood"),
+                    rs.getString("city"),
+                    rs.getString("state"),
+                    rs.getString("country"),
+                    rs.getString("postal_code"),
+                    rs.getString("phone"),
+                    rs.getObject("verified", Boolean.class),
+                    rs.getObject("reputation", Integer.class),
+                    rs.getObject("created_at", LocalDateTime.class),
+                    rs.getObject("last_login", LocalDateTime.class),
+                    rs.getObject("is_active", Boolean.class)
+            ),
+            rs.getLong("version")
+    );
+    
+    private enum ReturningStyle {
+        RETURNING, FINAL_TABLE, REREAD
+    }
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReturningStyle returningStyle;
+    
+    public UserPatchRepository(NamedParameterJdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.returningStyle = detectReturningStyle(jdbcTemplate);
+    }
+    
+    public static boolean isEmpty(UserDto patch) {
+        return PATCHABLE.values().stream().allMatch(getter -> getter.apply(patch) == null);
+    }
+    
+    /**
+     * With an expected version the patch only applies if the row still has it, and
+     * otherwise fails with {@link ObjectOptimisticLockingFailureException}.
+     */
+    public VersionedUser patch(UUID userId, UserDto patch, Long expectedVersion) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", userId)
+                .addValue("updated_at", LocalDateTime.now());
+        StringBuilder update = new StringBuilder("UPDATE users SET ");
+        PATCHABLE.forEach((column, getter) -> {
+            Object value = getter.apply(patch);
+            if (value != null) {
+                update.append(column).append(" = :").append(column).append(", ");
+                params.addValue(column, value);
+            }
+        });
+        update.append("updated_at = :updated_at, version = version + 1 WHERE id = :id");
+        if (expectedVersion != null) {
+            update.append(" AND version = :version");
+            params.addValue("version", expectedVersion);
+        }
+        
+        List<VersionedUser> rows = switch (returningStyle) {
+            case RETURNING -> jdbcTemplate.query(update + " RETURNING " + RETURNED_COLUMNS, params, PATCHED_ROW);
+            case FINAL_TABLE -> jdbcTemplate.query(
+                    "SELECT " + RETURNED_COLUMNS + " FROM FINAL TABLE (" + update + ")", params, PATCHED_ROW);
+            case REREAD -> jdbcTemplate.update(update.toString(), params) == 0 ? List.of() : jdbcTemplate.query(
+                    "SELECT " + RETURNED_COLUMNS + " FROM users WHERE id = :id", params, PATCHED_ROW);
+        };
+        if (rows.isEmpty()) {
+            if (expectedVersion != null && exists(userId)) {
+                throw new ObjectOptimisticLockingFailureException(User.class, userId);
+            }
+            throw new RuntimeException("User not found");
+        }
+        
+        // The write bypassed Hibernate; drop the cached entity now and again once the
+        // transaction commits, so no reader caches the pre-patch row in between
+        evict(userId);
+        TransactionHooks.afterCommit(() -> evict(userId));
+        return rows.get(0);
+    }
+    
+    private boolean exists(UUID userId) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM users WHERE id = :id",
+                new MapSqlParameterSource("id", userId), Integer.class).isEmpty();
+    }
+    
+    private void evict(UUID userId) {
+        entityManagerFactory.getCache().evict(User.class, userId);
+    }
+    
+    private static ReturningStyle detectReturningStyle(NamedParameterJdbcTemplate jdbcTemplate) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getJdbcTemplate().getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            ReturningStyle style = switch (product) {
+                case "PostgreSQL" -> ReturningStyle.RETURNING;
+                case "H2" -> ReturningStyle.FINAL_TABLE;
+                default -> ReturningStyle.REREAD;
+            };
+            log.info("Profile patches on {} return the updated row via {}", product, style);
+            return style;
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect database product, profile patches will re-read: {}", e.getMessage());
+            return ReturningStyle.REREAD;
+        }
+    }
+}
\ No newline at end of file
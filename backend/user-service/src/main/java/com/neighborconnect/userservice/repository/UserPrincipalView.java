@@ -0,0 +1,9 @@
+package com.neighborconnect.userservice.repository;
+
+import java.util.UUID;
+
+public interface UserPrincipalView {
+    UUID getId();
+    String getUsername();
+    Boolean getIsActive();
+}
\ No newline at end of file
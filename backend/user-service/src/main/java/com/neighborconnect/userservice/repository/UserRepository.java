@@ -1,53 +1,111 @@
 package com.neighborconnect.userservice.repository;
 
+import com.neighborconnect.shared.dto.UserDto;
 import com.neighborconnect.userservice.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdLookup {
     
+    // Cached query: the id comes from the query cache until a users write invalidates it,
+    // the entity from the second-level cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
-    Optional<User> findByUsername(String username);
+    Optional<UserPrincipalView> findPrincipalByUsername(String username);
     
     Optional<User> findByEmailOrUsername(String email, String username);
     
+    Optional<LoginCredentialsView> findCredentialsByEmailOrUsername(String email, String username);
+    
     Optional<User> findByVerificationToken(String token);
     
     Optional<User> findByResetToken(String token);
     
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findRaisedTokenVersions();
+    
     boolean existsByEmail(String email);
     
     boolean existsByUsername(String username);
     
+    // Set-based uniqueness check for bulk imports
+    @Query("SELECT u.email AS email, u.username AS username FROM User u " +
+           "WHERE u.email IN :emails OR u.username IN :usernames")
+    List<UserIdentityView> findIdentities(@Param("emails") Collection<String> emails,
+                                          @Param("usernames") Collection<String> usernames);
+    
     List<User> findByVerifiedTrue();
     
     List<User> findByIsActiveTrue();
     
-    @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
-           "(LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%')))")
-    Page<User> searchUsers(@Param("query") String query, Pageable pageable);
+    // Read paths project straight into UserDto (same fields as UserMapper.toDto): no User
+    // entities, no passwordHash or token columns, nothing for the persistence context to track
+    String USER_DTO = "new com.neighborconnect.shared.dto.UserDto(" +
+            "u.id, u.email, u.username, u.firstName, u.lastName, u.avatarUrl, u.neighborhood, u.city, " +
+            "u.state, u.country, u.postalCode, u.phone, u.verified, u.reputation, u.createdAt, u.lastLogin, " +
+            "u.isActive)";
+    String SEARCH_MATCHES = "u.isActive = true AND " +
+            "(LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%')))";
+    
+    @Query(value = "SELECT " + USER_DTO + " FROM User u WHERE " + SEARCH_MATCHES,
+           countQuery = "SELECT COUNT(u) FROM User u WHERE " + SEARCH_MATCHES)
+    Page<UserDto> searchUsers(@Param("query") String query, Pageable pageable);
+    
+    // Keyset variants: rows strictly after (username, id), no OFFSET and no COUNT
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE " + SEARCH_MATCHES + " AND " +
+           "(u.username > :username OR (u.username = :username AND u.id > :id)) " +
+           "ORDER BY u.username, u.id")
+    List<UserDto> searchUsersAfter(@Param("query") String query,
+                                   @Param("username") String username,
+                                   @Param("id") UUID id,
+                                   Limit limit);
+    
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE u.city = :city AND u.isActive = true AND " +
+           "(u.username > :username OR (u.username = :username AND u.id > :id)) " +
+           "ORDER BY u.username, u.id")
+    List<UserDto> findByCityAfter(@Param("city") String city,
+                                  @Param("username") String username,
+                                  @Param("id") UUID id,
+                                  Limit limit);
+    
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE u.id IN :ids AND u.isActive = true")
+    List<UserDto> findActiveByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName " +
+           "FROM User u WHERE u.isActive = true")
+    List<UserSearchView> findSearchEntries();
     
-    @Query("SELECT u FROM User u WHERE u.neighborhood = :neighborhood AND u.isActive = true")
-    List<User> findByNeighborhood(@Param("neighborhood") String neighborhood);
+    // Streaming variants for unbounded listings: rows arrive in JDBC fetch-size batches
+    // and must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE u.neighborhood = :neighborhood AND u.isActive = true " +
+           "ORDER BY u.username")
+    Stream<UserDto> streamByNeighborhood(@Param("neighborhood") String neighborhood);
     
-    @Query("SELECT u FROM User u WHERE u.city = :city AND u.isActive = true")
-    Page<User> findByCity(@Param("city") String city, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE u.isActive = true ORDER BY u.username")
+    Stream<UserDto> streamActiveUsers();
     
-    @Query("SELECT COUNT(u) FROM User u WHERE u.verified = true")
-    long countVerifiedUsers();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + USER_DTO + " FROM User u WHERE u.verified = true ORDER BY u.username")
+    Stream<UserDto> streamVerifiedUsers();
     
-    @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= CURRENT_DATE - 30")
-    long countNewUsersLastMonth();
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.neighborconnect.userservice.repository;
+
+import java.util.UUID;
+
+// The fields the in-memory search index covers
+public interface UserSearchView {
+    UUID getId();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+}
\ No newline at end of file
@@ -0,0 +1,324 @@
+package com.neighborconnect.userservice.search;
+
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.dto.UserSuggestionDto;
+import com.neighborconnect.userservice.model.User;
+import com.neighborconnect.userservice.repository.UserRepository;
+import com.neighborconnect.userservice.repository.UserSearchView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of active users for search and autocomplete. Substring search
+ * narrows candidates with a posting list of every 1-3 character substring and
+ * confirms them against the fields; a term of up to 3 characters reads its own
+ * posting, a longer one its rarest trigram. A 1-2 character term still costs in
+ * proportion to its matches, which for a common letter is most users; only the
+ * empty query walks all of them.
+ * Autocomplete walks a sorted term map. Built after startup, kept current
+ * by this instance's writes and rebuilt periodically to pick up other instances'.
+ * Until the first build completes, lookups return empty and callers use SQL.
+ */
+@Component
+@Slf4j
+public class UserSearchIndex {
+    
+    // Longest substring with its own posting list
+    private static final int GRAM = 3;
+    // Autocomplete ranks at most this many candidates per suggestion requested
+    private static final int CANDIDATES_PER_SUGGESTION = 50;
+    
+    private final UserRepository userRepository;
+    private final Lock writeLock = new ReentrantLock();
+    
+    private volatile Index index;
+    // Writes that happen while a rebuild is loading, replayed onto the new index
+    private List<Consumer<Index>> journal;
+    
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+    
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        
+        Index rebuilt = new Index();
+        try {
+            userRepository.findSearchEntries().forEach(view -> rebuilt.add(Entry.of(view)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild user search index: {}", e.getMessage());
+            writeLock.lock();
+            try {
+                journal = null;
+            } finally {
+                writeLock.unlock();
+            }
+            return;
+        }
+        
+        writeLock.lock();
+        try {
+            journal.forEach(write -> write.accept(rebuilt));
+            journal = null;
+            index = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("User search index built with {} users", rebuilt.byId.size());
+    }
+    
+    public void upsert(User user) {
+        upsert(Entry.of(user), Boolean.TRUE.equals(user.getIsActive()));
+    }
+    
+    public void upsert(UserDto user) {
+        upsert(Entry.of(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName()),
+                Boolean.TRUE.equals(user.getIsActive()));
+    }
+    
+    private void upsert(Entry entry, boolean active) {
+        TransactionHooks.afterCommit(() -> write(current -> {
+            current.remove(entry.id());
+            if (active) {
+                current.add(entry);
+            }
+        }));
+    }
+    
+    public void remove(UUID userId) {
+        TransactionHooks.afterCommit(() -> write(current -> current.remove(userId)));
+    }
+    
+    /**
+     * Case-insensitive substring match on username, first and last name, ordered by
+     * username like the SQL search. Empty when the index is not built yet.
+     */
+    public Optional<Page<UUID>> search(String query, Pageable pageable) {
+        Index current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        List<Entry> matches = current.matches(normalize(query));
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<UUID> ids = matches.subList(from, to).stream().map(Entry::id).toList();
+        return Optional.of(new PageImpl<>(ids, pageable, matches.size()));
+    }
+    
+    /**
+     * Up to {@code limit} matches with a username after {@code afterUsername}, in
+     * username order, for keyset pagination. Empty when the index is not built yet.
+     */
+    public Optional<List<UUID>> searchAfter(String query, String afterUsername, int limit) {
+        Index current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        String term = normalize(query);
+        Stream<Entry> after = term.isEmpty()
+                ? current.byUsername.tailMap(afterUsername, false).values().stream()
+                : current.matches(term).stream()
+                        .filter(entry -> entry.username().compareTo(afterUsername) > 0);
+        return Optional.of(after.limit(limit).map(Entry::id).toList());
+    }
+    
+    /**
+     * Users whose username or name starts with the prefix. Exact username matches
+     * rank first, then username prefixes, then name prefixes; shorter usernames win ties.
+     */
+    public Optional<List<UserSuggestionDto>> autocomplete(String prefix, int limit) {
+        Index current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        String term = normalize(prefix);
+        if (term.isEmpty() || limit <= 0) {
+            return Optional.of(List.of());
+        }
+        
+        int maxCandidates = limit * CANDIDATES_PER_SUGGESTION;
+        Map<UUID, Entry> candidates = new HashMap<>();
+        for (Set<UUID> ids : current.terms.subMap(term, true, term + Character.MAX_VALUE, true).values()) {
+            for (UUID id : ids) {
+                Entry entry = current.byId.get(id);
+                if (entry != null) {
+                    candidates.putIfAbsent(id, entry);
+                }
+            }
+            if (candidates.size() >= maxCandidates) {
+                break;
+            }
+        }
+        
+        return Optional.of(candidates.values().stream()
+                .sorted(Comparator.comparingInt((Entry entry) -> entry.rank(term))
+                        .thenComparingInt(entry -> entry.username().length())
+                        .thenComparing(Entry::username))
+                .limit(limit)
+                .map(entry -> new UserSuggestionDto(entry.id(), entry.username(), entry.firstName(), entry.lastName()))
+                .toList());
+    }
+    
+    private void write(Consumer<Index> write) {
+        writeLock.lock();
+        try {
+            if (index != null) {
+                write.accept(index);
+            }
+            if (journal != null) {
+                journal.add(write);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private record Entry(UUID id, String username, String firstName, String lastName,
+                         String usernameKey, String firstNameKey, String lastNameKey) {
+        
+        static Entry of(UserSearchView view) {
+            return of(view.getId(), view.getUsername(), view.getFirstName(), view.getLastName());
+        }
+        
+        static Entry of(User user) {
+            return of(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName());
+        }
+        
+        static Entry of(UUID id, String username, String firstName, String lastName) {
+            return new Entry(id, username, firstName, lastName,
+                    normalize(username), normalize(firstName), normalize(lastName));
+        }
+        
+        boolean contains(String term) {
+            return usernameKey.contains(term) || firstNameKey.contains(term) || lastNameKey.contains(term);
+        }
+        
+        int rank(String prefix) {
+            if (usernameKey.equals(prefix)) {
+                return 0;
+            }
+            return usernameKey.startsWith(prefix) ? 1 : 2;
+        }
+        
+        // Distinct substrings of 1 to GRAM characters across the searchable fields
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String key : List.of(usernameKey, firstNameKey, lastNameKey)) {
+                for (int i = 0; i < key.length(); i++) {
+                    for (int end = i + 1; end <= Math.min(i + GRAM, key.length()); end++) {
+                        grams.add(key.substring(i, end));
+                    }
+                }
+            }
+            return grams;
+        }
+        
+        List<String> terms() {
+            return List.of(usernameKey, firstNameKey, lastNameKey, firstNameKey + " " + lastNameKey);
+        }
+    }
+    
+    // Readers go lock-free; every candidate is re-checked against byId and the fields
+    private static final class Index {
+        
+        private final ConcurrentMap<UUID, Entry> byId = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Entry> byUsername = new ConcurrentSkipListMap<>();
+        private final ConcurrentMap<String, Set<UUID>> grams = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<UUID>> terms = new ConcurrentSkipListMap<>();
+        
+        void add(Entry entry) {
+            byId.put(entry.id(), entry);
+            byUsername.put(entry.username(), entry);
+            entry.grams().forEach(gram ->
+                    grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(entry.id()));
+            entry.terms().forEach(term ->
+                    terms.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(entry.id()));
+        }
+        
+        void remove(UUID id) {
+            Entry entry = byId.remove(id);
+            if (entry == null) {
+                return;
+            }
+            byUsername.remove(entry.username(), entry);
+            entry.grams().forEach(gram -> removePosting(grams, gram, id));
+            entry.terms().forEach(term -> removePosting(terms, term, id));
+        }
+        
+        // All entries containing the term, in username order
+        List<Entry> matches(String term) {
+            if (term.isEmpty()) {
+                return List.copyOf(byUsername.values());
+            }
+            return candidates(term)
+                    .filter(entry -> entry.contains(term))
+                    .sorted(Comparator.comparing(Entry::username))
+                    .toList();
+        }
+        
+        // Posting list of the term itself when short enough, else of its rarest trigram
+        private Stream<Entry> candidates(String term) {
+            int size = Math.min(GRAM, term.length());
+            Set<UUID> smallest = null;
+            for (int i = 0; i + size <= term.length(); i++) {
+                Set<UUID> posting = grams.get(term.substring(i, i + size));
+                if (posting == null) {
+                    return Stream.empty();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+            return smallest.stream().map(byId::get).filter(Objects::nonNull);
+        }
+        
+        private static void removePosting(Map<String, Set<UUID>> postings, String key, UUID id) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.neighborconnect.userservice.security;
+
+import com.neighborconnect.shared.util.JwtUtil;
+import com.neighborconnect.shared.util.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Decides whether a bearer token grants access, for the HTTP filter and the gRPC server
+ * alike: a valid signature and expiry, an access rather than a refresh token, not revoked,
+ * and not issued before the user's current token version.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenValidator {
+    
+    private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    
+    public Optional<VerifiedToken> validate(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return jwtUtil.verify(token)
+                // Refresh tokens are only accepted by the refresh endpoint
+                .filter(verified -> !verified.isRefreshToken())
+                .filter(verified -> verified.getSubject() != null)
+                .filter(verified -> !tokenRevocationService.isRevoked(verified.getTokenId()))
+                .filter(this::isCurrent);
+    }
+    
+    private boolean isCurrent(VerifiedToken verified) {
+        if (verified.getTokenVersion() != null) {
+            // Logout and deactivation raise the minimum version, so no user lookup is needed
+            return tokenVersionRegistry.isCurrent(verified.getUserId(), verified.getTokenVersion());
+        }
+        // Tokens issued before token versions: validate user exists and is active
+        UserPrincipal principal = principalCache.get(verified.getSubject()).orElse(null);
+        return principal != null && principal.isActive();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.neighborconnect.userservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Slf4j
+public final class BCryptCalibration {
+    
+    private static final String PROBE = "calibration-probe-password";
+    
+    private BCryptCalibration() {
+    }
+    
+    // Highest cost whose measured hash time on this host stays within the target
+    public static int calibrate(Duration targetHashTime, int minCost, int maxCost) {
+        new BCryptPasswordEncoder(minCost).encode(PROBE); // warm up
+        
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            long start = System.nanoTime();
+            encoder.encode(PROBE);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            log.info("BCrypt cost {} took {} ms", cost, elapsed.toMillis());
+            if (elapsed.compareTo(targetHashTime) > 0) {
+                break;
+            }
+            chosen = cost;
+        }
+        
+        log.info("Calibrated BCrypt cost {} for a target hash time of {} ms", chosen, targetHashTime.toMillis());
+        return chosen;
+    }
+    
+    // Cost factor encoded in a BCrypt hash such as $2a$10$..., or -1 when not BCrypt
+    public static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
\ No newline at end of file
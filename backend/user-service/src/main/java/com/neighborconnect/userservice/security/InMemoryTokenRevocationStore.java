@@ -0,0 +1,38 @@
+package com.neighborconnect.userservice.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "app.security.store", havingValue = "memory")
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+    
+    private final Map<String, Instant> revocations = new ConcurrentHashMap<>();
+    
+    @Override
+    public boolean revoke(String tokenId, Duration ttl) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        return revocations.compute(tokenId, (id, current) ->
+                current != null && current.isAfter(now) ? current : expiresAt) == expiresAt;
+    }
+    
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Instant expiresAt = revocations.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+    
+    @Override
+    public Set<String> revokedTokenIds() {
+        Instant now = Instant.now();
+        revocations.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        return Set.copyOf(revocations.keySet());
+    }
+}
\ No newline at end of file
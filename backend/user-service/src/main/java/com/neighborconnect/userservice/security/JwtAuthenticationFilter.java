@@ -1,7 +1,6 @@
 package com.neighborconnect.userservice.security;
 
-import com.neighborconnect.shared.util.JwtUtil;
-import com.neighborconnect.userservice.service.UserService;
+import com.neighborconnect.shared.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,8 +25,7 @@ import java.util.List;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtUtil jwtUtil;
-    private final UserService userService;
+    private final AccessTokenValidator accessTokenValidator;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -35,36 +33,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                    FilterChain filterChain) throws ServletException, IOException {
         
         try {
-            String token = getTokenFromRequest(request);
+            VerifiedToken verified = accessTokenValidator.validate(getTokenFromRequest(request)).orElse(null);
             
-            if (token != null && jwtUtil.isTokenValid(token)) {
-                String username = jwtUtil.extractUsername(token);
-                String role = jwtUtil.extractRole(token);
+            if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                String username = verified.getSubject();
+                UserDetails userDetails = User.builder()
+                        .username(username)
+                        .password("") // Password not needed for JWT auth
+                        .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + verified.getRole())))
+                        .build();
                 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Validate user exists and is active
-                    var userOptional = userService.getUserByUsername(username);
-                    if (userOptional.isPresent() && userOptional.get().getIsActive()) {
-                        
-                        UserDetails userDetails = User.builder()
-                                .username(username)
-                                .password("") // Password not needed for JWT auth
-                                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + role)))
-                                .build();
-                        
-                        UsernamePasswordAuthenticationToken authToken = 
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
-                        
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                        
-                        log.debug("Set Authentication for user: {}", username);
-                    }
-                }
+                UsernamePasswordAuthenticationToken authToken = 
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                
+                log.debug("Set Authentication for user: {}", username);
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
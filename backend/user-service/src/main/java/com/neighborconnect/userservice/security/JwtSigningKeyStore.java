@@ -0,0 +1,131 @@
+package com.neighborconnect.userservice.security;
+
+import com.neighborconnect.userservice.model.JwtSigningKey;
+import com.neighborconnect.userservice.repository.JwtSigningKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Database-backed key ring shared by every instance, so tokens survive restarts and verify on any replica.
+ * Private keys are sealed with AES-GCM under {@code jwt.rsa.key-encryption-key}, which lives in
+ * configuration and never in the database: a database dump or backup alone cannot mint tokens.
+ * The kid is bound in as associated data, so a sealed key cannot be moved to another row.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.key-source", havingValue = "rsa")
+public class JwtSigningKeyStore {
+    
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    
+    private final JwtSigningKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    // Null when not configured; only a problem once the stored ring is actually used
+    private final SecretKey keyEncryptionKey;
+    private final SecureRandom random = new SecureRandom();
+    
+    public JwtSigningKeyStore(JwtSigningKeyRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${jwt.rsa.key-encryption-key:}") String keyEncryptionKey) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keyEncryptionKey = keyEncryptionKey.isBlank() ? null : parseKey(keyEncryptionKey);
+    }
+    
+    // Oldest generation first, private keys unsealed
+    public List<JwtSigningKey> load() {
+        return repository.findAllByOrderByGenerationAsc().stream()
+                .map(key -> copy(key, unseal(key.getKid(), key.getPrivateKey())))
+                .toList();
+    }
+    
+    // All or nothing; false when another instance already added one of these generations
+    public boolean add(List<JwtSigningKey> keys) {
+        List<JwtSigningKey> sealed = keys.stream()
+                .map(key -> copy(key, seal(key.getKid(), key.getPrivateKey())))
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.saveAllAndFlush(sealed));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+    
+    public void delete(Collection<String> kids) {
+        transactionTemplate.executeWithoutResult(status -> repository.deleteAllByIdInBatch(kids));
+    }
+    
+    private String seal(String kid, String privateKey) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, kid, iv);
+            byte[] sealed = cipher.doFinal(privateKey.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + sealed.length)
+                    .put(iv)
+                    .put(sealed)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt JWT signing key " + kid, e);
+        }
+    }
+    
+    private String unseal(String kid, String stored) {
+        try {
+            byte[] bytes = Base64.getDecoder().decode(stored);
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, kid, Arrays.copyOf(bytes, IV_BYTES));
+            return new String(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES), StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot decrypt JWT signing key " + kid
+                    + "; is jwt.rsa.key-encryption-key the one it was stored with?", e);
+        }
+    }
+    
+    private Cipher cipher(int mode, String kid, byte[] iv) throws GeneralSecurityException {
+        if (keyEncryptionKey == null) {
+            throw new IllegalStateException("jwt.rsa.key-encryption-key is required to store JWT signing keys; "
+                    + "set it, or configure a fixed jwt.rsa.private-key");
+        }
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(mode, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.US_ASCII));
+        return cipher;
+    }
+    
+    private static JwtSigningKey copy(JwtSigningKey key, String privateKey) {
+        return new JwtSigningKey(key.getKid(), key.getGeneration(), privateKey, key.getCreatedAt());
+    }
+    
+    // Base64 AES key: 16, 24 or 32 bytes
+    private static SecretKey parseKey(String encoded) {
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.rsa.key-encryption-key must be Base64", e);
+        }
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalStateException("jwt.rsa.key-encryption-key must decode to 16, 24 or 32 bytes");
+        }
+        return new SecretKeySpec(key, "AES");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.neighborconnect.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolves the authentication-relevant state of a user (id, active flag, role)
+ * without hydrating the full entity. Unknown usernames are cached as empty too,
+ * so writes that change the answer must call {@link #invalidate(String)}.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+    
+    private final UserRepository userRepository;
+    private final LoadingCache<String, Optional<UserPrincipal>> principals;
+    
+    public PrincipalCache(UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "principalCache");
+    }
+    
+    public Optional<UserPrincipal> get(String username) {
+        return principals.get(username);
+    }
+    
+    public void invalidate(String username) {
+        TransactionHooks.afterCommit(() -> {
+            principals.invalidate(username);
+            log.debug("Invalidated cached principal: {}", username);
+        });
+    }
+    
+    private Optional<UserPrincipal> load(String username) {
+        return userRepository.findPrincipalByUsername(username)
+                .map(view -> new UserPrincipal(
+                        view.getId(),
+                        Boolean.TRUE.equals(view.getIsActive()),
+                        UserPrincipal.DEFAULT_ROLE
+                ));
+    }
+}
\ No newline at end of file
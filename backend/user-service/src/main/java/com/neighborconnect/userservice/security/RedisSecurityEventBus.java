@@ -0,0 +1,46 @@
+package com.neighborconnect.userservice.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "app.security.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSecurityEventBus implements SecurityEventBus, DisposableBean {
+    
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    
+    public RedisSecurityEventBus(StringRedisTemplate redisTemplate, RedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.afterPropertiesSet();
+        container.start();
+    }
+    
+    @Override
+    public void publish(String channel, String message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+    
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        container.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)
+        );
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
\ No newline at end of file
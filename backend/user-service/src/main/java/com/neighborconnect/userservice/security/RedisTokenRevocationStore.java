@@ -0,0 +1,53 @@
+package com.neighborconnect.userservice.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "app.security.store", havingValue = "redis", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+    
+    private static final String KEY_PREFIX = "revoked-token:";
+    
+    private final StringRedisTemplate redisTemplate;
+    
+    @Override
+    public boolean revoke(String tokenId, Duration ttl) {
+        // The key expires together with the token, so the set never outgrows live tokens
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + tokenId, "1", ttl));
+    }
+    
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+    }
+    
+    @Override
+    public Set<String> revokedTokenIds() {
+        return redisTemplate.execute((RedisCallback<Set<String>>) connection -> {
+            Set<String> tokenIds = new HashSet<>();
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(KEY_PREFIX + "*")
+                    .count(1000)
+                    .build();
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = new String(cursor.next(), StandardCharsets.UTF_8);
+                    tokenIds.add(key.substring(KEY_PREFIX.length()));
+                }
+            }
+            return tokenIds;
+        });
+    }
+}
\ No newline at end of file
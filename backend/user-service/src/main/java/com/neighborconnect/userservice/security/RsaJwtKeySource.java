@@ -0,0 +1,267 @@
+package com.neighborconnect.userservice.security;
+
+import com.neighborconnect.shared.util.JwtKeySource;
+import com.neighborconnect.shared.util.Jwks;
+import com.neighborconnect.userservice.model.JwtSigningKey;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * RS256 key ring for issuing tokens. The next key is published in the JWK set a full
+ * rotation before it signs anything, and retired keys stay published until every token
+ * they signed has expired, so verifiers always know a key before they see it.
+ *
+ * <p>Without {@code jwt.rsa.private-key} the ring lives in {@link JwtSigningKeyStore}: every
+ * instance signs with the same key, restarts keep existing sessions valid, and rotation is a
+ * database write that the other instances pick up on their next refresh. A configured key is
+ * managed outside the service, so it signs everything and is never rotated.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.key-source", havingValue = "rsa")
+@Slf4j
+public class RsaJwtKeySource implements JwtKeySource {
+    
+    private record SigningKey(String id, KeyPair keyPair, Instant retiredAt) {
+        
+        SigningKey retire(Instant at) {
+            return new SigningKey(id, keyPair, at);
+        }
+    }
+    
+    // Replaced as a whole on refresh so readers never see a half-rotated ring; next is null for a configured key
+    private record KeyRing(SigningKey active, SigningKey next, List<SigningKey> retired) {
+    }
+    
+    private final Duration tokenLifetime;
+    private final Duration rotationInterval;
+    private final boolean rotationEnabled;
+    // Null when a key is configured
+    private final JwtSigningKeyStore store;
+    private volatile KeyRing ring;
+    
+    public RsaJwtKeySource(@Value("${jwt.expiration:86400000}") long expirationMs,
+                           @Value("${jwt.refresh-token-expiration:1209600000}") long refreshExpirationMs,
+                           @Value("${jwt.rsa.private-key:}") String privateKey,
+                           @Value("${jwt.rsa.rotation-enabled:true}") boolean rotationEnabled,
+                           @Value("${jwt.rsa.rotation-interval-ms:604800000}") long rotationIntervalMs,
+                           JwtSigningKeyStore store) {
+        // Retired keys must outlive the longest-lived token they signed
+        this.tokenLifetime = Duration.ofMillis(Math.max(expirationMs, refreshExpirationMs));
+        this.rotationInterval = Duration.ofMillis(rotationIntervalMs);
+        if (!privateKey.isBlank()) {
+            this.store = null;
+            this.rotationEnabled = false;
+            this.ring = new KeyRing(decode(privateKey), null, List.of());
+            if (rotationEnabled) {
+                log.warn("jwt.rsa.rotation-enabled ignored: configured jwt.rsa.private-key is never rotated");
+            }
+            log.info("JWT signing key {} loaded from configuration", ring.active().id());
+            return;
+        }
+        if (store == null) {
+            throw new IllegalStateException("jwt.rsa.private-key is required without a signing key store");
+        }
+        this.store = store;
+        this.rotationEnabled = rotationEnabled;
+        this.ring = toRing(loadOrSeed(), Instant.now());
+        log.info("JWT signing key {} active, {} published as next", ring.active().id(), ring.next().id());
+    }
+    
+    @Override
+    public SignatureAlgorithm algorithm() {
+        return SignatureAlgorithm.RS256;
+    }
+    
+    @Override
+    public JwtBuilder sign(JwtBuilder builder) {
+        SigningKey active = ring.active();
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, active.id())
+                .signWith(active.keyPair().getPrivate(), SignatureAlgorithm.RS256);
+    }
+    
+    @Override
+    public Key verificationKey(String keyId) {
+        if (keyId == null) {
+            return null;
+        }
+        KeyRing current = ring;
+        if (keyId.equals(current.active().id())) {
+            return current.active().keyPair().getPublic();
+        }
+        if (current.next() != null && keyId.equals(current.next().id())) {
+            return current.next().keyPair().getPublic();
+        }
+        return current.retired().stream()
+                .filter(key -> key.id().equals(keyId))
+                .map(key -> (Key) key.keyPair().getPublic())
+                .findFirst()
+                .orElse(null);
+    }
+    
+    @Override
+    public List<Map<String, Object>> publicJwks() {
+        KeyRing current = ring;
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        jwks.add(toJwk(current.active()));
+        if (current.next() != null) {
+            jwks.add(toJwk(current.next()));
+        }
+        current.retired().forEach(key -> jwks.add(toJwk(key)));
+        return jwks;
+    }
+    
+    // Picks up rotations made by other instances, and rotates the shared ring once it is due
+    @Scheduled(fixedDelayString = "${jwt.rsa.refresh-interval-ms:60000}",
+               initialDelayString = "${jwt.rsa.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (store == null) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            List<JwtSigningKey> stored = loadOrSeed();
+            if (rotationEnabled && !activeSince(stored).plus(rotationInterval).isAfter(now)) {
+                stored = rotate(stored, now);
+            }
+            KeyRing previous = ring;
+            ring = toRing(stored, now);
+            if (!ring.active().id().equals(previous.active().id())) {
+                log.info("JWT signing key changed from {} to {}", previous.active().id(), ring.active().id());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh JWT signing keys, keeping the current ring: {}", e.getMessage());
+        }
+    }
+    
+    private List<JwtSigningKey> rotate(List<JwtSigningKey> stored, Instant now) {
+        JwtSigningKey newest = stored.get(stored.size() - 1);
+        if (store.add(List.of(newKey(newest.getGeneration() + 1, now)))) {
+            log.info("Rotated JWT signing key, {} is now active", newest.getKid());
+        }
+        // Either way the ring has moved on; drop keys whose tokens have all expired
+        List<JwtSigningKey> rotated = store.load();
+        List<String> expired = IntStream.range(0, rotated.size() - 2)
+                .filter(i -> !retiredAt(rotated, i).plus(tokenLifetime).isAfter(now))
+                .mapToObj(i -> rotated.get(i).getKid())
+                .toList();
+        if (!expired.isEmpty()) {
+            store.delete(expired);
+        }
+        return rotated;
+    }
+    
+    // First start against an empty table seeds active and next; an instance losing that race reads the winner's keys
+    private List<JwtSigningKey> loadOrSeed() {
+        List<JwtSigningKey> stored = store.load();
+        if (stored.size() >= 2) {
+            return stored;
+        }
+        Instant now = Instant.now();
+        long generation = stored.isEmpty() ? 0 : stored.get(0).getGeneration() + 1;
+        List<JwtSigningKey> seed = stored.isEmpty()
+                ? List.of(newKey(generation, now), newKey(generation + 1, now))
+                : List.of(newKey(generation, now));
+        store.add(seed);
+        stored = store.load();
+        if (stored.size() < 2) {
+            throw new IllegalStateException("JWT signing key ring could not be initialized");
+        }
+        return stored;
+    }
+    
+    // The newest key is next and the one before it is active; everything older is retired
+    private KeyRing toRing(List<JwtSigningKey> stored, Instant now) {
+        int size = stored.size();
+        List<SigningKey> retired = IntStream.range(0, size - 2)
+                .filter(i -> retiredAt(stored, i).plus(tokenLifetime).isAfter(now))
+                .mapToObj(i -> reuse(stored.get(i)).retire(retiredAt(stored, i)))
+                .toList();
+        return new KeyRing(reuse(stored.get(size - 2)), reuse(stored.get(size - 1)), retired);
+    }
+    
+    // Keys rarely change, so keep the already decoded pair instead of parsing PKCS#8 every refresh
+    private SigningKey reuse(JwtSigningKey stored) {
+        KeyRing current = ring;
+        if (current == null) {
+            return decode(stored.getPrivateKey());
+        }
+        if (current.active().id().equals(stored.getKid())) {
+            return current.active();
+        }
+        if (current.next() != null && current.next().id().equals(stored.getKid())) {
+            return current.next();
+        }
+        return current.retired().stream()
+                .filter(key -> key.id().equals(stored.getKid()))
+                .findFirst()
+                .orElseGet(() -> decode(stored.getPrivateKey()));
+    }
+    
+    // A key becomes active when its successor is added, and retires when the key after that is
+    private static Instant activeSince(List<JwtSigningKey> stored) {
+        return stored.get(stored.size() - 1).getCreatedAt();
+    }
+    
+    private static Instant retiredAt(List<JwtSigningKey> stored, int index) {
+        return stored.get(index + 2).getCreatedAt();
+    }
+    
+    private static Map<String, Object> toJwk(SigningKey key) {
+        return Jwks.toJwk(key.id(), (RSAPublicKey) key.keyPair().getPublic());
+    }
+    
+    private static JwtSigningKey newKey(long generation, Instant now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            return new JwtSigningKey(Jwks.keyId(keyPair.getPublic()), generation,
+                    Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()), now);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate RSA signing key", e);
+        }
+    }
+    
+    // Base64 PKCS#8 key; the kid derives from the public key, so every instance agrees on it
+    private static SigningKey decode(String privateKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            String encoded = privateKey
+                    .replaceAll("-----[A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            PrivateKey key = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+            RSAPrivateCrtKey crtKey = (RSAPrivateCrtKey) key;
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new RSAPublicKeySpec(crtKey.getModulus(), crtKey.getPublicExponent()));
+            return new SigningKey(Jwks.keyId(publicKey), new KeyPair(publicKey, key), null);
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("Invalid RSA signing key: " + e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
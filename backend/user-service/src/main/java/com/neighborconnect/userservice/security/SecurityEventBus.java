@@ -0,0 +1,14 @@
+package com.neighborconnect.userservice.security;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out of security state changes (revocations etc.) to every user-service
+ * instance, so each one can keep its in-process view in sync.
+ */
+public interface SecurityEventBus {
+    
+    void publish(String channel, String message);
+    
+    void subscribe(String channel, Consumer<String> listener);
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.neighborconnect.userservice.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked-token check for the request path. A local Bloom filter, kept in sync
+ * through the {@link SecurityEventBus}, answers the common "not revoked" case in
+ * memory; only a possible hit is confirmed against the {@link TokenRevocationStore}.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+    
+    private static final String CHANNEL = "token-revocations";
+    
+    private final TokenRevocationStore store;
+    private final SecurityEventBus eventBus;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Lock filterLock = new ReentrantLock();
+    
+    private volatile BloomFilter filter;
+    
+    public TokenRevocationService(TokenRevocationStore store,
+                                  SecurityEventBus eventBus,
+                                  @Value("${app.security.revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.store = store;
+        this.eventBus = eventBus;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+    
+    @PostConstruct
+    void init() {
+        eventBus.subscribe(CHANNEL, this::remember);
+        rebuild();
+    }
+    
+    /**
+     * Revokes the token until it would have expired anyway. Returns false when it was
+     * already revoked, which refresh rotation treats as token reuse.
+     */
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || remaining.isNegative() || remaining.isZero()) {
+            return false;
+        }
+        if (!store.revoke(tokenId, remaining)) {
+            return false;
+        }
+        remember(tokenId);
+        eventBus.publish(CHANNEL, tokenId);
+        return true;
+    }
+    
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return store.isRevoked(tokenId);
+        } catch (RuntimeException e) {
+            // Fail closed: only tokens the filter already flagged end up here
+            log.error("Revocation lookup failed for token {}: {}", tokenId, e.getMessage());
+            return true;
+        }
+    }
+    
+    // Bloom filters cannot forget, so expired revocations are shed by rebuilding from the store
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval-ms:600000}",
+               initialDelayString = "${app.security.revocation.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        filterLock.lock();
+        try {
+            BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+            store.revokedTokenIds().forEach(rebuilt::put);
+            filter = rebuilt;
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild token revocation filter: {}", e.getMessage());
+        } finally {
+            filterLock.unlock();
+        }
+    }
+    
+    private void remember(String tokenId) {
+        filterLock.lock();
+        try {
+            filter.put(tokenId);
+        } finally {
+            filterLock.unlock();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.neighborconnect.userservice.security;
+
+import java.time.Duration;
+import java.util.Set;
+
+public interface TokenRevocationStore {
+    
+    // False when the token was already revoked
+    boolean revoke(String tokenId, Duration ttl);
+    
+    boolean isRevoked(String tokenId);
+    
+    // Token IDs whose revocation has not expired yet
+    Set<String> revokedTokenIds();
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.neighborconnect.userservice.security;
+
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Minimum valid token version per user, replicated through the {@link SecurityEventBus}.
+ * Only users whose version was ever raised (logout, deactivation) have an entry, so the
+ * table stays small and access tokens are checked without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+    
+    private static final String CHANNEL = "token-versions";
+    
+    private final UserRepository userRepository;
+    private final SecurityEventBus eventBus;
+    private final ConcurrentMap<UUID, Long> minimumVersions = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        eventBus.subscribe(CHANNEL, this::apply);
+        reload();
+    }
+    
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        return userId != null && tokenVersion >= minimumVersions.getOrDefault(userId, 0L);
+    }
+    
+    // Applied once the surrounding transaction commits, so a rollback never locks users out
+    public void advance(UUID userId, long minimumVersion) {
+        TransactionHooks.afterCommit(() -> {
+            raise(userId, minimumVersion);
+            eventBus.publish(CHANNEL, userId + ":" + minimumVersion);
+        });
+    }
+    
+    // Versions only grow, so merging the database state heals any missed messages
+    @Scheduled(fixedDelayString = "${app.security.token-versions.reload-interval-ms:300000}",
+               initialDelayString = "${app.security.token-versions.reload-interval-ms:300000}")
+    public void reload() {
+        try {
+            userRepository.findRaisedTokenVersions()
+                    .forEach(view -> raise(view.getId(), view.getTokenVersion()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload token versions: {}", e.getMessage());
+        }
+    }
+    
+    private void apply(String message) {
+        int separator = message.indexOf(':');
+        try {
+            raise(UUID.fromString(message.substring(0, separator)), Long.parseLong(message.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed token version message: {}", message);
+        }
+    }
+    
+    private void raise(UUID userId, long minimumVersion) {
+        minimumVersions.merge(userId, minimumVersion, Math::max);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.neighborconnect.userservice.security;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+public class UserPrincipal {
+    public static final String DEFAULT_ROLE = "USER";
+    
+    UUID userId;
+    boolean active;
+    String role;
+}
\ No newline at end of file
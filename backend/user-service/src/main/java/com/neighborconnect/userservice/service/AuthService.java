@@ -2,39 +2,42 @@ package com.neighborconnect.userservice.service;
 
 import com.neighborconnect.shared.dto.UserLoginDto;
 import com.neighborconnect.shared.util.JwtUtil;
+import com.neighborconnect.shared.util.VerifiedToken;
 import com.neighborconnect.userservice.dto.LoginResponseDto;
 import com.neighborconnect.userservice.model.User;
+import com.neighborconnect.userservice.repository.LoginCredentialsView;
+import com.neighborconnect.userservice.security.TokenRevocationService;
+import com.neighborconnect.userservice.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
+// Deliberately not @Transactional: each UserService call runs its own short
+// transaction, so no JDBC connection is held while BCrypt runs
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class AuthService {
     
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
     
     public LoginResponseDto login(UserLoginDto loginDto) {
         log.info("Login attempt for: {}", loginDto.getEmailOrUsername());
         
-        // Find user by email or username
-        Optional<User> userOptional = userService.findUserByEmailOrUsername(loginDto.getEmailOrUsername());
+        // Read phase: fetch credentials only
+        Optional<LoginCredentialsView> credentials = userService.findLoginCredentials(loginDto.getEmailOrUsername());
         
-        if (userOptional.isEmpty()) {
+        if (credentials.isEmpty()) {
             log.warn("Login failed - user not found: {}", loginDto.getEmailOrUsername());
             throw new RuntimeException("Invalid credentials");
         }
         
-        User user = userOptional.get();
+        LoginCredentialsView user = credentials.get();
         
         // Check if user is active
         if (!user.getIsActive()) {
@@ -42,22 +45,34 @@ public class AuthService {
             throw new RuntimeException("Account is deactivated");
         }
         
-        // Verify password
-        if (!passwordEncoder.matches(loginDto.getPassword(), user.getPasswordHash())) {
+        // Hashing phase: no connection held
+        if (!passwordHashingService.matches(loginDto.getPassword(), user.getPasswordHash())) {
             log.warn("Login failed - invalid password for user: {}", user.getEmail());
             throw new RuntimeException("Invalid credentials");
         }
         
-        // Generate JWT token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), "USER");
+        // Bring the stored hash to the current BCrypt cost while we have the raw password
+        String rehashed = passwordHashingService.needsRehash(user.getPasswordHash())
+                ? passwordHashingService.encode(loginDto.getPassword())
+                : null;
         
-        // Update last login time
+        // Generate JWT tokens
+        String token = jwtUtil.generateAccessToken(user.getUsername(), user.getId(),
+                UserPrincipal.DEFAULT_ROLE, user.getTokenVersion());
+        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername(), user.getId(), user.getTokenVersion());
+        
+        // Write phase
+        if (rehashed != null) {
+            userService.updatePasswordHash(user.getId(), rehashed);
+            log.info("Rehashed password for user: {}", user.getEmail());
+        }
         userService.updateLastLogin(user.getId());
         
         log.info("User logged in successfully: {}", user.getEmail());
         
         return LoginResponseDto.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .userId(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -68,47 +83,49 @@ public class AuthService {
                 .build();
     }
     
-    public boolean validateToken(String token) {
-        try {
-            return jwtUtil.isTokenValid(token);
-        } catch (Exception e) {
-            log.error("Token validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-    
-    public String extractUsernameFromToken(String token) {
-        try {
-            return jwtUtil.extractUsername(token);
-        } catch (Exception e) {
-            log.error("Failed to extract username from token: {}", e.getMessage());
-            throw new RuntimeException("Invalid token");
-        }
-    }
-    
-    public boolean refreshToken(String oldToken) {
-        try {
-            String username = jwtUtil.extractUsername(oldToken);
-            Optional<User> userOptional = userService.findUserByEmailOrUsername(username);
-            
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
-                if (user.getIsActive()) {
-                    return true;
-                }
-            }
-            return false;
-        } catch (Exception e) {
-            log.error("Token refresh failed: {}", e.getMessage());
-            return false;
+    public LoginResponseDto refreshToken(String refreshToken) {
+        VerifiedToken verified = jwtUtil.verify(refreshToken)
+                .filter(VerifiedToken::isRefreshToken)
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        
+        // Resolved by the userId claim; the subject must still name the same account
+        User user = Optional.ofNullable(verified.getUserId())
+                .flatMap(userService::findUserById)
+                .filter(found -> found.getUsername().equals(verified.getSubject()))
+                .filter(User::getIsActive)
+                .filter(found -> found.getTokenVersion().equals(verified.getTokenVersion()))
+                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
+        
+        // Each refresh token is good for one use; a second use means it leaked
+        if (!tokenRevocationService.revoke(verified.getTokenId(), verified.getExpiration())) {
+            log.warn("Refresh token reuse detected for user: {}", user.getEmail());
+            userService.revokeAllTokens(user.getId());
+            throw new RuntimeException("Invalid refresh token");
         }
+        
+        log.info("Tokens refreshed for user: {}", user.getEmail());
+        
+        return LoginResponseDto.builder()
+                .token(jwtUtil.generateAccessToken(user.getUsername(), user.getId(),
+                        UserPrincipal.DEFAULT_ROLE, user.getTokenVersion()))
+                .refreshToken(jwtUtil.generateRefreshToken(user.getUsername(), user.getId(), user.getTokenVersion()))
+                .userId(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .verified(user.getVerified())
+                .emailVerified(user.getEmailVerified())
+                .build();
     }
     
-    public void logout(String username) {
+    public void logout(String username, String token) {
+        Optional<VerifiedToken> verified = jwtUtil.verify(token);
+        // Revoked until the token would have expired anyway
+        verified.ifPresent(current ->
+                tokenRevocationService.revoke(current.getTokenId(), current.getExpiration()));
+        // Raising the version also ends the refresh token and other sessions
+        verified.map(VerifiedToken::getUserId).ifPresent(userService::revokeAllTokens);
         log.info("User logged out: {}", username);
-        // In a production environment, you might want to:
-        // 1. Add the token to a blacklist stored in Redis
-        // 2. Clear any cached user sessions
-        // 3. Log the logout event for auditing
     }
 }
\ No newline at end of file
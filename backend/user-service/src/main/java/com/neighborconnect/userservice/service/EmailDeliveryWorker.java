@@ -0,0 +1,210 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.userservice.model.EmailOutboxMessage;
+import com.neighborconnect.userservice.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drains the email outbox. Each run claims a batch of due messages (skipping rows
+ * another instance holds), sends them over a single SMTP connection and records
+ * the outcome. Failed messages are retried with exponential backoff until
+ * max-attempts, then left as FAILED. A token bucket caps the send rate so a
+ * bulk import cannot trip the provider's limits.
+ */
+@Service
+@ConditionalOnProperty(name = "app.mail.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EmailDeliveryWorker {
+    
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String fromEmail;
+    private final int batchSize;
+    private final double ratePerSecond;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+    
+    // Only touched from the scheduler thread
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    
+    public EmailDeliveryWorker(EmailOutboxRepository outboxRepository,
+                               JavaMailSender mailSender,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${spring.mail.username:noreply@neighborconnect.com}") String fromEmail,
+                               @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                               @Value("${app.mail.outbox.rate-per-second:10}") double ratePerSecond,
+                               @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                               @Value("${app.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                               @Value("${app.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+                               @Value("${app.mail.outbox.claim-timeout:5m}") Duration claimTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.tokens = Math.min(batchSize, ratePerSecond);
+        
+        this.sentCounter = Counter.builder("email.outbox.delivered").tag("outcome", "sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.delivered").tag("outcome", "retry").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.delivered").tag("outcome", "failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("email.outbox.batch.latency")
+                .description("Time to send one claimed batch over SMTP")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", outboxRepository,
+                        repository -> repository.countByStatus(EmailOutboxMessage.Status.PENDING))
+                .description("Outbox messages not yet delivered")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void deliver() {
+        int permits = acquire();
+        if (permits == 0) {
+            return;
+        }
+        List<EmailOutboxMessage> batch;
+        try {
+            batch = claim(permits);
+        } catch (RuntimeException e) {
+            tokens += permits;
+            log.warn("Failed to claim outbox messages: {}", e.getMessage());
+            return;
+        }
+        tokens += permits - batch.size();
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        Map<EmailOutboxMessage, String> failures = batchTimer.record(() -> send(batch));
+        List<UUID> sent = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            if (!failures.containsKey(message)) {
+                sent.add(message.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.markSent(sent, LocalDateTime.now());
+            }
+            failures.forEach(this::scheduleRetry);
+        });
+        sentCounter.increment(sent.size());
+        log.debug("Delivered {} of {} outbox messages", sent.size(), batch.size());
+    }
+    
+    // Claimed rows are pushed past the claim timeout so no other run picks them up meanwhile
+    private List<EmailOutboxMessage> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.findDueForUpdate(
+                    EmailOutboxMessage.Status.PENDING, now, Limit.of(limit));
+            due.forEach(message -> message.setNextAttemptAt(now.plus(claimTimeout)));
+            return due;
+        });
+    }
+    
+    // Returns the messages that could not be sent, with the reason
+    private Map<EmailOutboxMessage, String> send(List<EmailOutboxMessage> batch) {
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        Map<SimpleMailMessage, EmailOutboxMessage> byMail = new IdentityHashMap<>();
+        for (int i = 0; i < mails.length; i++) {
+            EmailOutboxMessage message = batch.get(i);
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(fromEmail);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            mails[i] = mail;
+            byMail.put(mail, message);
+        }
+        
+        Map<EmailOutboxMessage, String> failures = new IdentityHashMap<>();
+        try {
+            // JavaMailSenderImpl sends the whole array over one connection
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            // Failed messages are keyed by the original SimpleMailMessage instances
+            e.getFailedMessages().forEach((mail, cause) -> {
+                EmailOutboxMessage message = byMail.get(mail);
+                if (message != null) {
+                    failures.put(message, cause.getMessage());
+                }
+            });
+            if (failures.isEmpty()) {
+                batch.forEach(message -> failures.put(message, e.getMessage()));
+            }
+        } catch (MailException e) {
+            batch.forEach(message -> failures.put(message, e.getMessage()));
+        }
+        return failures;
+    }
+    
+    private void scheduleRetry(EmailOutboxMessage message, String error) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            failedCounter.increment();
+            log.error("Giving up on email to {} after {} attempts: {}", message.getRecipient(), attempts, error);
+        } else {
+            message.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            retriedCounter.increment();
+            log.warn("Email to {} failed (attempt {}), retrying at {}: {}",
+                    message.getRecipient(), attempts, message.getNextAttemptAt(), error);
+        }
+        outboxRepository.save(message);
+    }
+    
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+    
+    // Token bucket refilled at rate-per-second, holding at most one batch
+    private int acquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(batchSize, tokens + (now - refilledAt) / 1e9 * ratePerSecond);
+        refilledAt = now;
+        int permits = (int) tokens;
+        tokens -= permits;
+        return permits;
+    }
+}
\ No newline at end of file
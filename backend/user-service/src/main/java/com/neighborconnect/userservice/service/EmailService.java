@@ -1,157 +1,117 @@
 package com.neighborconnect.userservice.service;
 
+import com.neighborconnect.userservice.model.EmailOutboxMessage;
+import com.neighborconnect.userservice.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Composes account emails and writes them to the outbox. Inside a caller's
+ * transaction the message commits or rolls back with it; delivery is left to
+ * {@link EmailDeliveryWorker}.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional
 public class EmailService {
     
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
     
     @Value("${app.base-url:http://localhost:8081}")
     private String baseUrl;
     
-    @Value("${spring.mail.username:noreply@neighborconnect.com}")
-    private String fromEmail;
-    
-    @Async
     public void sendVerificationEmail(String toEmail, String token) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Verify your NeighborConnect account");
+        String subject = "Verify your NeighborConnect account";
+        
+        String verificationUrl = baseUrl + "/api/v1/users/verify-email?token=" + token;
+        
+        String emailContent = """
+            Welcome to NeighborConnect!
             
-            String verificationUrl = baseUrl + "/api/v1/users/verify-email?token=" + token;
+            Thank you for joining our community platform. To complete your registration, 
+            please verify your email address by clicking the link below:
             
-            String emailContent = """
-                Welcome to NeighborConnect!
-                
-                Thank you for joining our community platform. To complete your registration, 
-                please verify your email address by clicking the link below:
-                
-                %s
-                
-                This link will expire in 24 hours.
-                
-                If you didn't create an account with NeighborConnect, please ignore this email.
-                
-                Best regards,
-                The NeighborConnect Team
-                """.formatted(verificationUrl);
+            %s
             
-            message.setText(emailContent);
+            This link will expire in 24 hours.
             
-            mailSender.send(message);
-            log.info("Verification email sent to: {}", toEmail);
+            If you didn't create an account with NeighborConnect, please ignore this email.
             
-        } catch (Exception e) {
-            log.error("Failed to send verification email to {}: {}", toEmail, e.getMessage());
-            throw new RuntimeException("Failed to send verification email", e);
-        }
+            Best regards,
+            The NeighborConnect Team
+            """.formatted(verificationUrl);
+        
+        enqueue(toEmail, subject, emailContent);
+        log.info("Verification email queued for: {}", toEmail);
     }
     
-    @Async
     public void sendPasswordResetEmail(String toEmail, String token) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Reset your NeighborConnect password");
+        String subject = "Reset your NeighborConnect password";
+        
+        String resetUrl = baseUrl + "/api/v1/users/reset-password?token=" + token;
+        
+        String emailContent = """
+            Password Reset Request
             
-            String resetUrl = baseUrl + "/api/v1/users/reset-password?token=" + token;
+            We received a request to reset your NeighborConnect password. 
+            If you made this request, click the link below to reset your password:
             
-            String emailContent = """
-                Password Reset Request
-                
-                We received a request to reset your NeighborConnect password. 
-                If you made this request, click the link below to reset your password:
-                
-                %s
-                
-                This link will expire in 1 hour.
-                
-                If you didn't request a password reset, please ignore this email. 
-                Your password will remain unchanged.
-                
-                Best regards,
-                The NeighborConnect Team
-                """.formatted(resetUrl);
+            %s
             
-            message.setText(emailContent);
+            This link will expire in 1 hour.
             
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", toEmail);
+            If you didn't request a password reset, please ignore this email. 
+            Your password will remain unchanged.
             
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to {}: {}", toEmail, e.getMessage());
-            throw new RuntimeException("Failed to send password reset email", e);
-        }
+            Best regards,
+            The NeighborConnect Team
+            """.formatted(resetUrl);
+        
+        enqueue(toEmail, subject, emailContent);
+        log.info("Password reset email queued for: {}", toEmail);
     }
     
-    @Async
     public void sendWelcomeEmail(String toEmail, String firstName) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Welcome to NeighborConnect!");
-            
-            String emailContent = """
-                Hello %s,
-                
-                Welcome to NeighborConnect! We're excited to have you join our community.
-                
-                With NeighborConnect, you can:
-                • Connect with neighbors in your area
-                • Join community groups and events
-                • Share updates and announcements
-                • Buy, sell, and trade with trusted neighbors
-                • Stay informed about local safety alerts
-                • Organize events and activities
-                
-                Get started by:
-                1. Completing your profile
-                2. Joining your neighborhood connector
-                3. Introducing yourself to the community
-                
-                If you have any questions, don't hesitate to reach out to our support team.
-                
-                Happy connecting!
-                The NeighborConnect Team
-                """.formatted(firstName);
-            
-            message.setText(emailContent);
-            
-            mailSender.send(message);
-            log.info("Welcome email sent to: {}", toEmail);
-            
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to {}: {}", toEmail, e.getMessage());
-        }
+        String subject = "Welcome to NeighborConnect!";
+        
+        String emailContent = """
+            Hello %s,
+            
+            Welcome to NeighborConnect! We're excited to have you join our community.
+            
+            With NeighborConnect, you can:
+            • Connect with neighbors in your area
+            • Join community groups and events
+            • Share updates and announcements
+            • Buy, sell, and trade with trusted neighbors
+            • Stay informed about local safety alerts
+            • Organize events and activities
+            
+            Get started by:
+            1. Completing your profile
+            2. Joining your neighborhood connector
+            3. Introducing yourself to the community
+            
+            If you have any questions, don't hesitate to reach out to our support team.
+            
+            Happy connecting!
+            The NeighborConnect Team
+            """.formatted(firstName);
+        
+        enqueue(toEmail, subject, emailContent);
+        log.info("Welcome email queued for: {}", toEmail);
     }
     
-    @Async
     public void sendNotificationEmail(String toEmail, String subject, String content) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(subject);
-            message.setText(content);
-            
-            mailSender.send(message);
-            log.info("Notification email sent to: {} with subject: {}", toEmail, subject);
-            
-        } catch (Exception e) {
-            log.error("Failed to send notification email to {}: {}", toEmail, e.getMessage());
-        }
+        enqueue(toEmail, subject, content);
+        log.info("Notification email queued for: {} with subject: {}", toEmail, subject);
+    }
+    
+    private void enqueue(String toEmail, String subject, String content) {
+        outboxRepository.save(new EmailOutboxMessage(toEmail, subject, content));
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.userservice.model.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces last-login timestamps in memory and writes them as one JDBC batch,
+ * periodically or once enough users are pending, so login never waits on a write.
+ */
+@Service
+@Slf4j
+public class LastLoginWriteBehind {
+    
+    private static final String UPDATE_SQL = "UPDATE users SET last_login = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskScheduler taskScheduler;
+    private final int flushThreshold;
+    private final ConcurrentMap<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Lock flushLock = new ReentrantLock();
+    
+    public LastLoginWriteBehind(JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                TaskScheduler taskScheduler,
+                                @Value("${app.last-login.flush-threshold:500}") int flushThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskScheduler = taskScheduler;
+        this.flushThreshold = flushThreshold;
+    }
+    
+    public void record(UUID userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        flushRequested.set(false);
+        flushLock.lock();
+        try {
+            List<Map.Entry<UUID, LocalDateTime>> batch = new ArrayList<>();
+            for (Map.Entry<UUID, LocalDateTime> entry : pending.entrySet()) {
+                // Only take values nobody has overwritten in the meantime
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                    ps.setObject(2, entry.getKey());
+                });
+                // The write bypassed Hibernate, so drop the cached copies it made stale
+                batch.forEach(entry -> entityManagerFactory.getCache().evict(User.class, entry.getKey()));
+                log.debug("Flushed {} last-login updates", batch.size());
+            } catch (DataAccessException e) {
+                log.error("Failed to flush {} last-login updates, will retry: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                        (current, failed) -> current.isAfter(failed) ? current : failed));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.neighborconnect.userservice.service;
+
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    public PasswordHashingRejectedException() {
+        super("Too many concurrent sign-in requests, please retry shortly");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.userservice.security.BCryptCalibration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs BCrypt work on a dedicated pool so a login spike cannot occupy every
+ * request thread. The queue is bounded; once it is full callers fail fast with
+ * {@link PasswordHashingRejectedException} instead of piling up.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+    
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    private final int bulkConcurrency;
+    
+    private int targetCost;
+    
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.password.hashing-threads:0}") int hashingThreads,
+                                  @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.password.bulk-concurrency:0}") int bulkConcurrency) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        // Bulk work never takes more than half the pool, leaving workers free for logins
+        this.bulkConcurrency = bulkConcurrency > 0 ? bulkConcurrency : Math.max(1, poolSize / 2);
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        
+        Gauge.builder("password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.latency")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.latency")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hashing.queue.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                .register(meterRegistry);
+    }
+    
+    @PostConstruct
+    void init() {
+        // Whatever cost the configured encoder produces is the one stored hashes should have
+        targetCost = BCryptCalibration.costOf(passwordEncoder.encode("cost-probe"));
+        log.info("Password hashing pool started with {} threads, target BCrypt cost {}",
+                executor.getCorePoolSize(), targetCost);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+    
+    /**
+     * Hashes a batch with one task per password, but never more than the bulk concurrency
+     * in flight. Logins and registrations queue behind at most that many import hashes
+     * instead of waiting for a whole chunk, and an import never fills the queue on its own.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        String[] hashes = new String[rawPasswords.size()];
+        Deque<Future<String>> inFlight = new ArrayDeque<>(bulkConcurrency);
+        int done = 0;
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() == bulkConcurrency) {
+                    hashes[done++] = await(inFlight.removeFirst());
+                }
+                inFlight.addLast(enqueue(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword))));
+            }
+            while (!inFlight.isEmpty()) {
+                hashes[done++] = await(inFlight.removeFirst());
+            }
+        } catch (RuntimeException e) {
+            inFlight.forEach(hash -> hash.cancel(true));
+            throw e;
+        }
+        return Arrays.asList(hashes);
+    }
+    
+    public boolean matches(CharSequence rawPassword, String passwordHash) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+    
+    public boolean needsRehash(String passwordHash) {
+        return BCryptCalibration.costOf(passwordHash) != targetCost;
+    }
+    
+    private <T> T submit(Timer timer, Callable<T> task) {
+        return await(enqueue(() -> timer.recordCallable(task)));
+    }
+    
+    private <T> Future<T> enqueue(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new PasswordHashingRejectedException();
+        }
+    }
+    
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
\ No newline at end of file
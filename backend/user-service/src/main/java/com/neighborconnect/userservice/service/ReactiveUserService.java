@@ -0,0 +1,68 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.shared.dto.UserDto;
+import com.neighborconnect.userservice.repository.ReactiveUserRepository;
+import com.neighborconnect.userservice.search.UserSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+// Read endpoints that never hold a request thread or a JDBC connection while the database works
+@Service
+@RequiredArgsConstructor
+public class ReactiveUserService {
+    
+    private final ReactiveUserRepository reactiveUserRepository;
+    private final UserSearchIndex userSearchIndex;
+    
+    public Mono<UserDto> getUserById(UUID id) {
+        return reactiveUserRepository.findById(id);
+    }
+    
+    // Same rows as getUserById, inactive users included, in request order; unknown IDs are left out
+    public Mono<List<UserDto>> getUsersByIds(List<UUID> ids) {
+        List<UUID> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        return reactiveUserRepository.findByIdIn(distinct)
+                .collectMap(UserDto::getId)
+                .map(users -> inOrder(distinct, users));
+    }
+    
+    public Mono<Page<UserDto>> searchUsers(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("username"));
+        Optional<Page<UUID>> matches = userSearchIndex.search(query, pageable);
+        if (matches.isEmpty()) {
+            // Index not built yet
+            return Mono.zip(reactiveUserRepository.searchUsers(query, pageable).collectList(),
+                            reactiveUserRepository.countSearchMatches(query))
+                    .<Page<UserDto>>map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+        }
+        
+        List<UUID> ids = matches.get().getContent();
+        return reactiveUserRepository.findActiveByIdIn(ids)
+                .collectMap(UserDto::getId)
+                .<Page<UserDto>>map(users -> new PageImpl<>(inOrder(ids, users), pageable, matches.get().getTotalElements()));
+    }
+    
+    public Mono<List<UserDto>> getUsersByNeighborhood(String neighborhood) {
+        return reactiveUserRepository.findByNeighborhood(neighborhood).collectList();
+    }
+    
+    private static List<UserDto> inOrder(List<UUID> ids, Map<UUID, UserDto> users) {
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.model.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies reputation changes as atomic, zero-clamped SQL increments. Deferred changes
+ * are summed per user in a {@link LongAdder} and written as one JDBC batch, so a popular
+ * user costs one row update per flush instead of one transaction per reaction.
+ * Deferred deltas are clamped once per flush, not once per change.
+ */
+@Service
+@Slf4j
+public class ReputationAggregator {
+    
+    private static final String INCREMENT_SQL =
+            "UPDATE users SET reputation = GREATEST(reputation + ?, 0) WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TaskScheduler taskScheduler;
+    private final UserChangeFeed userChangeFeed;
+    private final int flushThreshold;
+    private final ConcurrentMap<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Lock flushLock = new ReentrantLock();
+    
+    public ReputationAggregator(JdbcTemplate jdbcTemplate,
+                                EntityManagerFactory entityManagerFactory,
+                                TaskScheduler taskScheduler,
+                                UserChangeFeed userChangeFeed,
+                                @Value("${app.reputation.flush-threshold:1000}") int flushThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.taskScheduler = taskScheduler;
+        this.userChangeFeed = userChangeFeed;
+        this.flushThreshold = flushThreshold;
+    }
+    
+    /**
+     * Applies the change now, inside the caller's transaction if there is one.
+     */
+    public void apply(UUID userId, int change) {
+        if (jdbcTemplate.update(INCREMENT_SQL, change, userId) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        // The write bypassed Hibernate; evict again after commit so no reader re-caches the old row
+        evict(userId);
+        TransactionHooks.afterCommit(() -> evict(userId));
+        userChangeFeed.publish(userId, UserChangeFeed.Type.UPDATED);
+    }
+    
+    /**
+     * Queues the change for the next flush. Changes for unknown users are dropped then.
+     */
+    public void record(UUID userId, int change) {
+        if (change == 0) {
+            return;
+        }
+        LongAdder delta = pending.computeIfAbsent(userId, id -> new LongAdder());
+        delta.add(change);
+        if (pending.get(userId) != delta) {
+            // A flush detached this adder meanwhile; whatever it has not drained yet moves to the new one.
+            // sumThenReset takes each cell with getAndSet, so the flush and this never count a change twice
+            long missed = delta.sumThenReset();
+            if (missed != 0) {
+                requeue(userId, missed);
+            }
+        }
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reputation.flush-interval-ms:2000}")
+    public void flush() {
+        flushRequested.set(false);
+        flushLock.lock();
+        try {
+            List<Map.Entry<UUID, Long>> batch = new ArrayList<>();
+            for (UUID userId : pending.keySet()) {
+                LongAdder delta = pending.remove(userId);
+                if (delta == null) {
+                    continue;
+                }
+                long sum = delta.sumThenReset();
+                if (sum != 0) {
+                    batch.add(Map.entry(userId, sum));
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            try {
+                jdbcTemplate.batchUpdate(INCREMENT_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setObject(2, entry.getKey());
+                });
+                batch.forEach(entry -> {
+                    evict(entry.getKey());
+                    userChangeFeed.publish(entry.getKey(), UserChangeFeed.Type.UPDATED);
+                });
+                log.debug("Flushed reputation changes for {} users", batch.size());
+            } catch (DataAccessException e) {
+                log.error("Failed to flush reputation changes for {} users, will retry: {}", batch.size(), e.getMessage());
+                batch.forEach(entry -> requeue(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void requeue(UUID userId, long change) {
+        pending.computeIfAbsent(userId, id -> new LongAdder()).add(change);
+    }
+    
+    // Targeted evictions; a JPQL or native bulk update would invalidate the whole users region
+    private void evict(UUID userId) {
+        entityManagerFactory.getCache().evict(User.class, userId);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.security.SecurityEventBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which users changed, for watchers such as the gRPC WatchUserChanges stream. Changes are
+ * announced after commit over the {@link SecurityEventBus}, so watchers on every instance
+ * see writes made on any of them. Delivery is best effort: a restart or a dropped Redis
+ * message loses events, and last-login updates are not announced at all.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeFeed {
+    
+    private static final String CHANNEL = "user-changes";
+    
+    public enum Type { CREATED, UPDATED, DEACTIVATED, REACTIVATED }
+    
+    public record Change(UUID userId, Type type) {
+    }
+    
+    private final SecurityEventBus eventBus;
+    // No replay and no buffering here; each watcher bounds its own backlog
+    private final Sinks.Many<Change> sink = Sinks.many().multicast().directBestEffort();
+    private final Lock emitLock = new ReentrantLock();
+    
+    @PostConstruct
+    void init() {
+        eventBus.subscribe(CHANNEL, this::receive);
+    }
+    
+    public void publish(UUID userId, Type type) {
+        TransactionHooks.afterCommit(() -> {
+            try {
+                eventBus.publish(CHANNEL, type + ":" + userId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to announce {} of user {}: {}", type, userId, e.getMessage());
+            }
+        });
+    }
+    
+    public Flux<Change> changes() {
+        return sink.asFlux();
+    }
+    
+    private void receive(String message) {
+        Change change;
+        try {
+            int separator = message.indexOf(':');
+            change = new Change(UUID.fromString(message.substring(separator + 1)),
+                    Type.valueOf(message.substring(0, separator)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed user change message: {}", message);
+            return;
+        }
+        // Sinks reject concurrent emits, and the bus may deliver on several threads
+        emitLock.lock();
+        try {
+            sink.tryEmitNext(change);
+        } finally {
+            emitLock.unlock();
+        }
+    }
+}
\ No newline at end of file
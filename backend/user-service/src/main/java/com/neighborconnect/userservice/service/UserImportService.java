@@ -0,0 +1,209 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.shared.dto.UserRegistrationDto;
+import com.neighborconnect.userservice.dto.UserImportResultDto;
+import com.neighborconnect.userservice.dto.UserImportResultDto.RowResult;
+import com.neighborconnect.userservice.dto.UserImportResultDto.Status;
+import com.neighborconnect.userservice.importer.ImportRow;
+import com.neighborconnect.userservice.mapper.UserMapper;
+import com.neighborconnect.userservice.model.User;
+import com.neighborconnect.userservice.repository.UserIdentityView;
+import com.neighborconnect.userservice.repository.UserRepository;
+import com.neighborconnect.userservice.search.UserSearchIndex;
+import com.neighborconnect.userservice.security.PrincipalCache;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Registers many users at once, e.g. when onboarding a whole building or HOA.
+ * Input is consumed in chunks: each chunk is validated, checked for existing
+ * emails and usernames with one query, hashed in parallel and inserted as JDBC
+ * batches in its own transaction, so a bad chunk never undoes earlier ones.
+ * Verification emails go to the outbox in the same transaction.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+    
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final EmailService emailService;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatistics userStatistics;
+    private final UserChangeFeed userChangeFeed;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    public UserImportService(UserRepository userRepository,
+                             PasswordHashingService passwordHashingService,
+                             EmailService emailService,
+                             PrincipalCache principalCache,
+                             UserSearchIndex userSearchIndex,
+                             UserStatistics userStatistics,
+                             UserChangeFeed userChangeFeed,
+                             EntityManager entityManager,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.emailService = emailService;
+        this.principalCache = principalCache;
+        this.userSearchIndex = userSearchIndex;
+        this.userStatistics = userStatistics;
+        this.userChangeFeed = userChangeFeed;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    public UserImportResultDto importUsers(Iterator<ImportRow> rows) {
+        List<RowResult> results = new ArrayList<>();
+        // Emails and usernames claimed by earlier rows of this import
+        Set<String> claimedEmails = new HashSet<>();
+        Set<String> claimedUsernames = new HashSet<>();
+        
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize || !rows.hasNext()) {
+                importChunk(chunk, claimedEmails, claimedUsernames, results);
+                chunk.clear();
+            }
+        }
+        
+        results.sort(Comparator.comparingInt(RowResult::getRow));
+        int created = (int) results.stream().filter(result -> result.getStatus() == Status.CREATED).count();
+        log.info("User import finished: {} rows, {} created", results.size(), created);
+        return new UserImportResultDto(results.size(), created, results.size() - created, results);
+    }
+    
+    private void importChunk(List<ImportRow> chunk, Set<String> claimedEmails, Set<String> claimedUsernames,
+                             List<RowResult> results) {
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String problem = validate(row);
+            if (problem != null) {
+                results.add(result(row, Status.INVALID, null, problem));
+            } else if (!claimedEmails.add(row.registration().getEmail())) {
+                results.add(result(row, Status.DUPLICATE, null, "Email appears earlier in this import"));
+            } else if (!claimedUsernames.add(row.registration().getUsername())) {
+                claimedEmails.remove(row.registration().getEmail());
+                results.add(result(row, Status.DUPLICATE, null, "Username appears earlier in this import"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        
+        List<UserIdentityView> taken = userRepository.findIdentities(
+                accepted.stream().map(row -> row.registration().getEmail()).toList(),
+                accepted.stream().map(row -> row.registration().getUsername()).toList());
+        Set<String> takenEmails = taken.stream().map(UserIdentityView::getEmail).collect(Collectors.toSet());
+        Set<String> takenUsernames = taken.stream().map(UserIdentityView::getUsername).collect(Collectors.toSet());
+        
+        List<ImportRow> fresh = new ArrayList<>(accepted.size());
+        for (ImportRow row : accepted) {
+            if (takenEmails.contains(row.registration().getEmail())) {
+                results.add(result(row, Status.DUPLICATE, null, "Email already registered"));
+            } else if (takenUsernames.contains(row.registration().getUsername())) {
+                results.add(result(row, Status.DUPLICATE, null, "Username already taken"));
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        
+        List<String> hashes = passwordHashingService.encodeAll(
+                fresh.stream().map(row -> row.registration().getPassword()).toList());
+        List<User> users = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            users.add(UserMapper.fromRegistration(fresh.get(i).registration(), hashes.get(i)));
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(users));
+            for (int i = 0; i < fresh.size(); i++) {
+                results.add(result(fresh.get(i), Status.CREATED, users.get(i), null));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Another writer registered one of these concurrently; find out which row by going one at a time
+            log.warn("Batch insert of {} users failed, retrying row by row: {}", users.size(), e.getMessage());
+            for (int i = 0; i < fresh.size(); i++) {
+                User user = UserMapper.fromRegistration(fresh.get(i).registration(), hashes.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(user)));
+                    results.add(result(fresh.get(i), Status.CREATED, user, null));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    results.add(result(fresh.get(i), Status.FAILED, null, "Email or username already in use"));
+                }
+            }
+        }
+    }
+    
+    private String validate(ImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<UserRegistrationDto>> violations = validator.validate(row.registration());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    // Runs inside the chunk transaction; with hibernate.jdbc.batch_size set the users and
+    // their outbox rows go out as batches. Assigned UUIDv7 ids defer the INSERTs to the flush,
+    // so flush through the repository: a unique-key clash then surfaces as DataIntegrityViolationException
+    // before any outbox rows are staged
+    private void insert(List<User> users) {
+        userRepository.saveAllAndFlush(users);
+        for (User user : users) {
+            principalCache.invalidate(user.getUsername());
+            userSearchIndex.upsert(user);
+            userStatistics.userRegistered(user);
+            userChangeFeed.publish(user.getId(), UserChangeFeed.Type.CREATED);
+            emailService.sendVerificationEmail(user.getEmail(), user.getVerificationToken());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private static RowResult result(ImportRow row, Status status, User user, String message) {
+        UserRegistrationDto registration = row.registration();
+        return new RowResult(
+                row.row(),
+                status,
+                registration != null ? registration.getEmail() : null,
+                registration != null ? registration.getUsername() : null,
+                user != null ? user.getId() : null,
+                message
+        );
+    }
+}
\ No newline at end of file
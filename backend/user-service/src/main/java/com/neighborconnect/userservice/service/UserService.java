@@ -1,25 +1,39 @@
 package com.neighborconnect.userservice.service;
 
+import com.neighborconnect.shared.dto.CursorPage;
 import com.neighborconnect.shared.dto.UserDto;
 import com.neighborconnect.shared.dto.UserRegistrationDto;
+import com.neighborconnect.userservice.dto.UserSuggestionDto;
+import com.neighborconnect.userservice.dto.UsernameCursor;
+import com.neighborconnect.userservice.dto.VersionedUser;
 import com.neighborconnect.userservice.model.User;
+import com.neighborconnect.userservice.repository.LoginCredentialsView;
+import com.neighborconnect.userservice.repository.UserPatchRepository;
 import com.neighborconnect.userservice.repository.UserRepository;
 import com.neighborconnect.userservice.mapper.UserMapper;
+import com.neighborconnect.userservice.search.UserSearchIndex;
+import com.neighborconnect.userservice.security.PrincipalCache;
+import com.neighborconnect.userservice.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +42,16 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserPatchRepository userPatchRepository;
+    private final PasswordHashingService passwordHashingService;
     private final EmailService emailService;
+    private final PrincipalCache principalCache;
+    private final LastLoginWriteBehind lastLoginWriteBehind;
+    private final ReputationAggregator reputationAggregator;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserSearchIndex userSearchIndex;
+    private final UserStatistics userStatistics;
+    private final UserChangeFeed userChangeFeed;
     
     public UserDto registerUser(UserRegistrationDto registrationDto) {
         log.info("Registering new user with email: {}", registrationDto.getEmail());
@@ -44,31 +66,18 @@ public class UserService {
             throw new RuntimeException("Username already taken");
         }
         
-        // Create user entity
-        User user = new User();
-        user.setEmail(registrationDto.getEmail());
-        user.setUsername(registrationDto.getUsername());
-        user.setPasswordHash(passwordEncoder.encode(registrationDto.getPassword()));
-        user.setFirstName(registrationDto.getFirstName());
-        user.setLastName(registrationDto.getLastName());
-        user.setNeighborhood(registrationDto.getNeighborhood());
-        user.setCity(registrationDto.getCity());
-        user.setState(registrationDto.getState());
-        user.setCountry(registrationDto.getCountry());
-        user.setPostalCode(registrationDto.getPostalCode());
-        user.setPhone(registrationDto.getPhone());
-        
-        // Generate verification token
-        user.setVerificationToken(UUID.randomUUID().toString());
+        // Create user entity with a fresh verification token
+        User user = UserMapper.fromRegistration(registrationDto,
+                passwordHashingService.encode(registrationDto.getPassword()));
         
         User savedUser = userRepository.save(user);
+        principalCache.invalidate(savedUser.getUsername());
+        userSearchIndex.upsert(savedUser);
+        userStatistics.userRegistered(savedUser);
+        userChangeFeed.publish(savedUser.getId(), UserChangeFeed.Type.CREATED);
         
-        // Send verification email
-        try {
-            emailService.sendVerificationEmail(savedUser.getEmail(), savedUser.getVerificationToken());
-        } catch (Exception e) {
-            log.error("Failed to send verification email: {}", e.getMessage());
-        }
+        // Queued in the outbox, so it commits or rolls back with the registration
+        emailService.sendVerificationEmail(savedUser.getEmail(), savedUser.getVerificationToken());
         
         log.info("User registered successfully with ID: {}", savedUser.getId());
         return UserMapper.toDto(savedUser);
@@ -92,53 +101,58 @@ public class UserService {
                 .map(UserMapper::toDto);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<VersionedUser> getVersionedUserByUsername(String username) {
+        return userRepository.findByUsername(username)
+                .map(user -> new VersionedUser(UserMapper.toDto(user), user.getVersion()));
+    }
+    
     @Transactional(readOnly = true)
     public Optional<User> findUserByEmailOrUsername(String emailOrUsername) {
         return userRepository.findByEmailOrUsername(emailOrUsername, emailOrUsername);
     }
     
-    public UserDto updateUser(UUID userId, UserDto updateDto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        // Update fields if provided
-        if (updateDto.getFirstName() != null) {
-            user.setFirstName(updateDto.getFirstName());
-        }
-        if (updateDto.getLastName() != null) {
-            user.setLastName(updateDto.getLastName());
-        }
-        if (updateDto.getNeighborhood() != null) {
-            user.setNeighborhood(updateDto.getNeighborhood());
-        }
-        if (updateDto.getCity() != null) {
-            user.setCity(updateDto.getCity());
-        }
-        if (updateDto.getState() != null) {
-            user.setState(updateDto.getState());
-        }
-        if (updateDto.getCountry() != null) {
-            user.setCountry(updateDto.getCountry());
-        }
-        if (updateDto.getPostalCode() != null) {
-            user.setPostalCode(updateDto.getPostalCode());
-        }
-        if (updateDto.getPhone() != null) {
-            user.setPhone(updateDto.getPhone());
-        }
-        if (updateDto.getAvatarUrl() != null) {
-            user.setAvatarUrl(updateDto.getAvatarUrl());
+    // By id, so it is served from the second-level cache
+    @Transactional(readOnly = true)
+    public Optional<User> findUserById(UUID id) {
+        return userRepository.findById(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<LoginCredentialsView> findLoginCredentials(String emailOrUsername) {
+        return userRepository.findCredentialsByEmailOrUsername(emailOrUsername, emailOrUsername);
+    }
+    
+    /**
+     * Applies the non-null profile fields in one statement, without loading the user
+     * first. With an expected version the update only applies if nobody changed the
+     * user since that version was read.
+     */
+    public VersionedUser updateUser(UUID userId, UserDto updateDto, Long expectedVersion) {
+        if (UserPatchRepository.isEmpty(updateDto)) {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(User.class, userId);
+            }
+            return new VersionedUser(UserMapper.toDto(user), user.getVersion());
         }
         
-        User updatedUser = userRepository.save(user);
-        log.info("User updated successfully: {}", updatedUser.getId());
-        
-        return UserMapper.toDto(updatedUser);
+        VersionedUser patched = userPatchRepository.patch(userId, updateDto, expectedVersion);
+        userSearchIndex.upsert(patched.user());
+        userChangeFeed.publish(userId, UserChangeFeed.Type.UPDATED);
+        log.info("User updated successfully: {}", userId);
+        return patched;
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateLastLogin(UUID userId) {
+        lastLoginWriteBehind.record(userId, LocalDateTime.now());
+    }
+    
+    public void updatePasswordHash(UUID userId, String passwordHash) {
         userRepository.findById(userId).ifPresent(user -> {
-            user.setLastLogin(LocalDateTime.now());
+            user.setPasswordHash(passwordHash);
             userRepository.save(user);
         });
     }
@@ -157,71 +171,157 @@ public class UserService {
     }
     
     @Transactional(readOnly = true)
-    public Page<UserDto> searchUsers(String query, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("username"));
-        Page<User> users = userRepository.searchUsers(query, pageable);
-        return users.map(UserMapper::toDto);
+    public CursorPage<UserDto> searchUsersAfter(String query, String cursor, int size) {
+        UsernameCursor after = UsernameCursor.decode(cursor);
+        // One extra row tells whether another slice follows
+        List<UserDto> users = userSearchIndex.searchAfter(query, after.username(), size + 1)
+                .map(this::findAllByIdInOrder)
+                .orElseGet(() -> userRepository.searchUsersAfter(query, after.username(), after.id(), Limit.of(size + 1)));
+        return toCursorPage(users, size);
     }
     
     @Transactional(readOnly = true)
-    public List<UserDto> getUsersByNeighborhood(String neighborhood) {
-        return userRepository.findByNeighborhood(neighborhood)
-                .stream()
-                .map(UserMapper::toDto)
-                .collect(Collectors.toList());
+    public List<UserSuggestionDto> autocompleteUsers(String prefix, int limit) {
+        return userSearchIndex.autocomplete(prefix, limit).orElseGet(() ->
+                userRepository.searchUsers(prefix, PageRequest.of(0, limit, Sort.by("username"))).stream()
+                        .map(user -> new UserSuggestionDto(user.getId(), user.getUsername(),
+                                user.getFirstName(), user.getLastName()))
+                        .collect(Collectors.toList()));
+    }
+    
+    // The stream variants hand each user to the consumer as it is read; rows are projected
+    // into DTOs, so nothing accumulates in the persistence context however many match
+    @Transactional(readOnly = true)
+    public void streamUsersByNeighborhood(String neighborhood, Consumer<UserDto> consumer) {
+        forEach(userRepository.streamByNeighborhood(neighborhood), consumer);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamActiveUsers(Consumer<UserDto> consumer) {
+        forEach(userRepository.streamActiveUsers(), consumer);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamVerifiedUsers(Consumer<UserDto> consumer) {
+        forEach(userRepository.streamVerifiedUsers(), consumer);
+    }
+    
+    private static void forEach(Stream<UserDto> users, Consumer<UserDto> consumer) {
+        try (users) {
+            users.forEach(consumer);
+        }
     }
     
     @Transactional(readOnly = true)
-    public Page<UserDto> getUsersByCity(String city, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("username"));
-        Page<User> users = userRepository.findByCity(city, pageable);
-        return users.map(UserMapper::toDto);
+    public CursorPage<UserDto> getUsersByCityAfter(String city, String cursor, int size) {
+        UsernameCursor after = UsernameCursor.decode(cursor);
+        List<UserDto> users = userRepository.findByCityAfter(city, after.username(), after.id(), Limit.of(size + 1));
+        return toCursorPage(users, size);
+    }
+    
+    private List<UserDto> findAllByIdInOrder(List<UUID> ids) {
+        Map<UUID, UserDto> users = userRepository.findActiveByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserDto::getId, Function.identity()));
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    private CursorPage<UserDto> toCursorPage(List<UserDto> users, int size) {
+        boolean hasNext = users.size() > size;
+        List<UserDto> content = hasNext ? users.subList(0, size) : users;
+        String nextCursor = hasNext
+                ? new UsernameCursor(content.get(size - 1).getUsername(), content.get(size - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(content, nextCursor, hasNext, content.size());
     }
     
     public void markUserAsVerified(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        boolean wasVerified = Boolean.TRUE.equals(user.getVerified());
         user.setVerified(true);
         userRepository.save(user);
+        if (!wasVerified) {
+            userStatistics.userVerified();
+            userChangeFeed.publish(userId, UserChangeFeed.Type.UPDATED);
+        }
         log.info("User marked as verified: {}", userId);
     }
     
     public void updateReputation(UUID userId, int reputationChange) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setReputation(Math.max(0, user.getReputation() + reputationChange));
-        userRepository.save(user);
-        log.info("Reputation updated for user {}: {}", userId, user.getReputation());
+        reputationAggregator.apply(userId, reputationChange);
+        log.info("Reputation of user {} changed by {}", userId, reputationChange);
+    }
+    
+    // For high-volume sources like reactions; applied on the next aggregator flush
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void queueReputationChange(UUID userId, int reputationChange) {
+        reputationAggregator.record(userId, reputationChange);
     }
     
     public void deactivateUser(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        if (Boolean.TRUE.equals(user.getIsActive())) {
+            userStatistics.userActivationChanged(false);
+        }
         user.setIsActive(false);
+        bumpTokenVersion(user);
         userRepository.save(user);
+        principalCache.invalidate(user.getUsername());
+        userSearchIndex.remove(userId);
+        userChangeFeed.publish(userId, UserChangeFeed.Type.DEACTIVATED);
         log.info("User deactivated: {}", userId);
     }
     
     public void reactivateUser(UUID userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            userStatistics.userActivationChanged(true);
+        }
         user.setIsActive(true);
         userRepository.save(user);
+        principalCache.invalidate(user.getUsername());
+        userSearchIndex.upsert(user);
+        userChangeFeed.publish(userId, UserChangeFeed.Type.REACTIVATED);
         log.info("User reactivated: {}", userId);
     }
     
-    @Transactional(readOnly = true)
+    // Every token issued so far carries a lower version and stops working
+    public void revokeAllTokens(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        bumpTokenVersion(user);
+        userRepository.save(user);
+        log.info("All tokens revoked for user: {}", userId);
+    }
+    
+    private void bumpTokenVersion(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        tokenVersionRegistry.advance(user.getId(), user.getTokenVersion());
+    }
+    
+    // Stats come from memory, so no transaction (and no connection) is needed
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getTotalUsersCount() {
-        return userRepository.count();
+        return userStatistics.totalUsers();
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getVerifiedUsersCount() {
-        return userRepository.countVerifiedUsers();
+        return userStatistics.verifiedUsers();
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getActiveUsersCount() {
+        return userStatistics.activeUsers();
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getNewUsersLastMonthCount() {
-        return userRepository.countNewUsersLastMonth();
+        return userStatistics.newUsersLastMonth();
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.shared.util.TransactionHooks;
+import com.neighborconnect.userservice.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User counts for the admin dashboard, kept in memory instead of aggregating
+ * {@code users} on every poll. Mutations adjust striped counters after commit;
+ * new registrations land in one bucket per day over a rolling 31-day window
+ * (today and the 30 days before). A periodic reconciliation against the database
+ * corrects drift, including writes made by other instances.
+ */
+@Component
+@Slf4j
+public class UserStatistics {
+    
+    private static final int WINDOW_DAYS = 31;
+    
+    private static final String COUNTS_SQL =
+            "SELECT COUNT(*), " +
+            "COUNT(CASE WHEN verified = TRUE THEN 1 END), " +
+            "COUNT(CASE WHEN is_active = TRUE THEN 1 END) " +
+            "FROM users";
+    private static final String DAILY_SQL =
+            "SELECT CAST(created_at AS DATE), COUNT(*) FROM users " +
+            "WHERE created_at >= ? GROUP BY CAST(created_at AS DATE)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter total = new Counter();
+    private final Counter verified = new Counter();
+    private final Counter active = new Counter();
+    private volatile AtomicReferenceArray<DayBucket> days = new AtomicReferenceArray<>(WINDOW_DAYS);
+    
+    public UserStatistics(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public long totalUsers() {
+        return total.get();
+    }
+    
+    public long verifiedUsers() {
+        return verified.get();
+    }
+    
+    public long activeUsers() {
+        return active.get();
+    }
+    
+    public long newUsersLastMonth() {
+        long today = LocalDate.now().toEpochDay();
+        AtomicReferenceArray<DayBucket> current = days;
+        long sum = 0;
+        for (int i = 0; i < WINDOW_DAYS; i++) {
+            DayBucket bucket = current.get(i);
+            if (bucket != null && bucket.epochDay > today - WINDOW_DAYS && bucket.epochDay <= today) {
+                sum += bucket.count.sum();
+            }
+        }
+        return sum;
+    }
+    
+    // Read after commit: the creation timestamp is only assigned once the insert is flushed
+    public void userRegistered(User user) {
+        TransactionHooks.afterCommit(() -> {
+            total.add(1);
+            active.add(1);
+            if (Boolean.TRUE.equals(user.getVerified())) {
+                verified.add(1);
+            }
+            LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+            bucket(createdAt.toLocalDate().toEpochDay()).count.increment();
+        });
+    }
+    
+    public void userVerified() {
+        TransactionHooks.afterCommit(() -> verified.add(1));
+    }
+    
+    public void userActivationChanged(boolean nowActive) {
+        TransactionHooks.afterCommit(() -> active.add(nowActive ? 1 : -1));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+    
+    // A write racing the reconciliation can be off by one until the next run
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            long[] counts = jdbcTemplate.queryForObject(COUNTS_SQL,
+                    (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+            
+            LocalDate today = LocalDate.now();
+            AtomicReferenceArray<DayBucket> rebuilt = new AtomicReferenceArray<>(WINDOW_DAYS);
+            jdbcTemplate.query(DAILY_SQL, rs -> {
+                long epochDay = rs.getDate(1).toLocalDate().toEpochDay();
+                DayBucket bucket = new DayBucket(epochDay);
+                bucket.count.add(rs.getLong(2));
+                rebuilt.set(slot(epochDay), bucket);
+            }, Timestamp.valueOf(today.minusDays(WINDOW_DAYS - 1).atStartOfDay()));
+            
+            total.reset(counts[0]);
+            verified.reset(counts[1]);
+            active.reset(counts[2]);
+            days = rebuilt;
+            log.debug("Reconciled user statistics: total={}, verified={}, active={}", counts[0], counts[1], counts[2]);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile user statistics: {}", e.getMessage());
+        }
+    }
+    
+    private DayBucket bucket(long epochDay) {
+        AtomicReferenceArray<DayBucket> current = days;
+        int slot = slot(epochDay);
+        while (true) {
+            DayBucket bucket = current.get(slot);
+            if (bucket != null && bucket.epochDay == epochDay) {
+                return bucket;
+            }
+            // First registration of a new day recycles the slot of the day that left the window
+            DayBucket fresh = new DayBucket(epochDay);
+            if (current.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+    
+    private static int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) WINDOW_DAYS);
+    }
+    
+    private static final class DayBucket {
+        
+        private final long epochDay;
+        private final LongAdder count = new LongAdder();
+        
+        private DayBucket(long epochDay) {
+            this.epochDay = epochDay;
+        }
+    }
+    
+    // Reconciled base plus striped increments since the last reconciliation
+    private static final class Counter {
+        
+        private final LongAdder delta = new LongAdder();
+        private volatile long base;
+        
+        long get() {
+            return base + delta.sum();
+        }
+        
+        void add(long value) {
+            delta.add(value);
+        }
+        
+        void reset(long value) {
+            delta.reset();
+            base = value;
+        }
+    }
+}
\ No newline at end of file
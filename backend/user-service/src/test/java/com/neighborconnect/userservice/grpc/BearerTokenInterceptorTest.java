@@ -0,0 +1,114 @@
+package com.neighborconnect.userservice.grpc;
+
+import com.neighborconnect.shared.grpc.BearerTokenCredentials;
+import com.neighborconnect.shared.grpc.user.v1.GetUserRequest;
+import com.neighborconnect.shared.grpc.user.v1.User;
+import com.neighborconnect.shared.grpc.user.v1.UserServiceGrpc;
+import com.neighborconnect.shared.grpc.user.v1.ValidateTokenRequest;
+import com.neighborconnect.shared.grpc.user.v1.ValidateTokenResponse;
+import com.neighborconnect.shared.util.VerifiedToken;
+import com.neighborconnect.userservice.security.AccessTokenValidator;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BearerTokenInterceptorTest {
+    
+    private static final String VALID_TOKEN = "valid-token";
+    private static final GetUserRequest GET_USER = GetUserRequest.newBuilder().setId(UUID.randomUUID().toString()).build();
+    
+    private final AccessTokenValidator accessTokenValidator = mock(AccessTokenValidator.class);
+    private Server server;
+    private ManagedChannel channel;
+    
+    // Answers every call it is reached with, so a response proves the interceptor let it through
+    private static class EchoService extends UserServiceGrpc.UserServiceImplBase {
+        
+        @Override
+        public void getUser(GetUserRequest request, StreamObserver<User> responseObserver) {
+            responseObserver.onNext(User.newBuilder().setId(request.getId()).setUsername("johndoe").build());
+            responseObserver.onCompleted();
+        }
+        
+        @Override
+        public void validateToken(ValidateTokenRequest request, StreamObserver<ValidateTokenResponse> responseObserver) {
+            responseObserver.onNext(ValidateTokenResponse.newBuilder().setValid(false).build());
+            responseObserver.onCompleted();
+        }
+    }
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        when(accessTokenValidator.validate(any())).thenReturn(Optional.empty());
+        when(accessTokenValidator.validate(VALID_TOKEN)).thenReturn(Optional.of(new VerifiedToken(
+                "token-id", "johndoe", UUID.randomUUID(), "USER", Instant.now().plusSeconds(900),
+                VerifiedToken.ACCESS_TOKEN, 0L)));
+        
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new EchoService(), new BearerTokenInterceptor(accessTokenValidator)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+    
+    @Test
+    void rejectsCallWithoutToken() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+        
+        assertThatThrownBy(() -> stub.getUser(GET_USER))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+    }
+    
+    @Test
+    void rejectsCallWithInvalidToken() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel)
+                .withCallCredentials(new BearerTokenCredentials(() -> "forged-token"));
+        
+        assertThatThrownBy(() -> stub.getUser(GET_USER))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAUTHENTICATED));
+    }
+    
+    @Test
+    void passesCallWithValidToken() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel)
+                .withCallCredentials(new BearerTokenCredentials(() -> VALID_TOKEN));
+        
+        assertThat(stub.getUser(GET_USER).getId()).isEqualTo(GET_USER.getId());
+    }
+    
+    @Test
+    void letsValidateTokenThroughWithoutToken() {
+        UserServiceGrpc.UserServiceBlockingStub stub = UserServiceGrpc.newBlockingStub(channel);
+        
+        assertThat(stub.validateToken(ValidateTokenRequest.newBuilder().setToken("anything").build()).getValid())
+                .isFalse();
+    }
+}
\ No newline at end of file
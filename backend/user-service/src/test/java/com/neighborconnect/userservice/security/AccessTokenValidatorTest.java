@@ -0,0 +1,104 @@
+package com.neighborconnect.userservice.security;
+
+import com.neighborconnect.shared.util.HmacJwtKeySource;
+import com.neighborconnect.shared.util.JwtUtil;
+import com.neighborconnect.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccessTokenValidatorTest {
+    
+    private static final String USERNAME = "johndoe";
+    private static final UUID USER_ID = UUID.randomUUID();
+    
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+    private JwtUtil jwtUtil;
+    private TokenRevocationService tokenRevocationService;
+    private TokenVersionRegistry tokenVersionRegistry;
+    private AccessTokenValidator validator;
+    
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(new HmacJwtKeySource("myVerySecretKeyForNeighborConnectThatShouldBe256BitsLong"));
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 900000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 1209600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        
+        LocalSecurityEventBus eventBus = new LocalSecurityEventBus();
+        tokenRevocationService = new TokenRevocationService(new InMemoryTokenRevocationStore(), eventBus, 1000, 0.01);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findRaisedTokenVersions()).thenReturn(List.of());
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository, eventBus);
+        validator = new AccessTokenValidator(jwtUtil, principalCache, tokenRevocationService, tokenVersionRegistry);
+    }
+    
+    @Test
+    void acceptsCurrentAccessToken() {
+        String token = jwtUtil.generateAccessToken(USERNAME, USER_ID, UserPrincipal.DEFAULT_ROLE, 0);
+        
+        assertThat(validator.validate(token))
+                .hasValueSatisfying(verified -> {
+                    assertThat(verified.getSubject()).isEqualTo(USERNAME);
+                    assertThat(verified.getUserId()).isEqualTo(USER_ID);
+                });
+    }
+    
+    @Test
+    void rejectsRefreshToken() {
+        String token = jwtUtil.generateRefreshToken(USERNAME, USER_ID, 0);
+        
+        assertThat(validator.validate(token)).isEmpty();
+    }
+    
+    @Test
+    void rejectsRevokedToken() {
+        String token = jwtUtil.generateAccessToken(USERNAME, USER_ID, UserPrincipal.DEFAULT_ROLE, 0);
+        String tokenId = jwtUtil.verify(token).orElseThrow().getTokenId();
+        
+        tokenRevocationService.revoke(tokenId, Instant.now().plus(1, ChronoUnit.HOURS));
+        
+        assertThat(validator.validate(token)).isEmpty();
+    }
+    
+    @Test
+    void rejectsTokenOlderThanCurrentVersion() {
+        String stale = jwtUtil.generateAccessToken(USERNAME, USER_ID, UserPrincipal.DEFAULT_ROLE, 0);
+        String current = jwtUtil.generateAccessToken(USERNAME, USER_ID, UserPrincipal.DEFAULT_ROLE, 1);
+        
+        // What logout does once its transaction commits
+        tokenVersionRegistry.advance(USER_ID, 1);
+        
+        assertThat(validator.validate(stale)).isEmpty();
+        assertThat(validator.validate(current)).isPresent();
+    }
+    
+    @Test
+    void checksLegacyTokensAgainstThePrincipal() {
+        String token = jwtUtil.generateToken(USERNAME, USER_ID, UserPrincipal.DEFAULT_ROLE);
+        
+        when(principalCache.get(USERNAME)).thenReturn(Optional.of(new UserPrincipal(USER_ID, true, "USER")));
+        assertThat(validator.validate(token)).isPresent();
+        
+        when(principalCache.get(USERNAME)).thenReturn(Optional.of(new UserPrincipal(USER_ID, false, "USER")));
+        assertThat(validator.validate(token)).isEmpty();
+    }
+    
+    @Test
+    void rejectsMissingOrMalformedToken() {
+        assertThat(validator.validate(null)).isEmpty();
+        assertThat(validator.validate("not.a.token")).isEmpty();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.neighborconnect.userservice.service;
+
+import com.neighborconnect.userservice.model.User;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LastLoginWriteBehindTest {
+    
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 6, 1, 12, 0);
+    
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final Cache cache = mock(Cache.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    // Every batch that reached JDBC, as userId -> lastLogin
+    private final List<Map<UUID, LocalDateTime>> batches = new ArrayList<>();
+    
+    private LastLoginWriteBehind writeBehind;
+    
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        recordBatches();
+        writeBehind = new LastLoginWriteBehind(jdbcTemplate, entityManagerFactory, taskScheduler, 3);
+    }
+    
+    @Test
+    void coalescesLoginsIntoOneBatchWithTheLatestTimePerUser() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        
+        writeBehind.record(alice, NOON);
+        writeBehind.record(alice, NOON.plusMinutes(5));
+        writeBehind.record(alice, NOON.plusMinutes(1));
+        writeBehind.record(bob, NOON);
+        writeBehind.flush();
+        
+        assertThat(batches).containsExactly(Map.of(alice, NOON.plusMinutes(5), bob, NOON));
+        verify(cache).evict(User.class, alice);
+        verify(cache).evict(User.class, bob);
+    }
+    
+    @Test
+    void flushWithNothingPendingWritesNothing() {
+        writeBehind.flush();
+        
+        assertThat(batches).isEmpty();
+    }
+    
+    @Test
+    void schedulesAnEarlyFlushOnceTheThresholdIsReached() {
+        writeBehind.record(UUID.randomUUID(), NOON);
+        writeBehind.record(UUID.randomUUID(), NOON);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        
+        writeBehind.record(UUID.randomUUID(), NOON);
+        writeBehind.record(UUID.randomUUID(), NOON);
+        
+        // One request until the flush runs, however many logins arrive meanwhile
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(flush.capture(), any(Instant.class));
+        flush.getValue().run();
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch).hasSize(4));
+    }
+    
+    @Test
+    void keepsFailedBatchForTheNextFlush() {
+        UUID alice = UUID.randomUUID();
+        writeBehind.record(alice, NOON);
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate).batchUpdate(anyString(),
+                any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        
+        writeBehind.flush();
+        verify(cache, never()).evict(User.class, alice);
+        
+        // A newer login while the batch was failing wins over the retried value
+        writeBehind.record(alice, NOON.minusMinutes(1));
+        recordBatches();
+        writeBehind.flush();
+        
+        assertThat(batches).containsExactly(Map.of(alice, NOON));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            Collection<Map.Entry<UUID, LocalDateTime>> batch = invocation.getArgument(1);
+            batches.add(Map.ofEntries(batch.toArray(Map.Entry[]::new)));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+}
\ No newline at end of file